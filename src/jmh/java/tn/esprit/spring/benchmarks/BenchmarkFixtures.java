@@ -0,0 +1,131 @@
+package tn.esprit.spring.benchmarks;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tn.esprit.spring.GestionStationSkiApplication;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.entities.TypeSubscription;
+import tn.esprit.spring.services.CourseCapacityLedger;
+import tn.esprit.spring.services.RecurringRevenueAggregate;
+import tn.esprit.spring.services.SkierEligibilityIndex;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application without the web layer on the in-memory H2 database and bulk-loads
+ * fixture rows over JDBC, so even the million-row scale is ready in seconds.
+ * Skier {@code i} (1-based) is an adult when {@code i} is odd and a child when it is even.
+ */
+final class BenchmarkFixtures {
+
+    static final int COURSES_PER_TYPE = 1000;
+    // Seeded registrations live on their own course so they never eat into benchmarked capacity
+    static final long HISTORY_COURSE = (long) TypeCourse.values().length * COURSES_PER_TYPE + 1;
+
+    private static final int CHUNK = 10_000;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkFixtures() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(GestionStationSkiApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("logging.level.root=WARN")
+                .run();
+    }
+
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("insert into instructor (num_instructor, first_name, last_name, date_of_hire) values (1, 'Bench', 'Mark', ?)",
+                Date.valueOf(START));
+
+        List<Object[]> courses = new ArrayList<>();
+        for (TypeCourse type : TypeCourse.values()) {
+            for (int i = 0; i < COURSES_PER_TYPE; i++) {
+                courses.add(new Object[]{courseId(type, i), 1, 100f, type.name(), Support.SKI.name()});
+            }
+        }
+        courses.add(new Object[]{HISTORY_COURSE, 1, 100f, TypeCourse.INDIVIDUAL.name(), Support.SKI.name()});
+        jdbc.batchUpdate("insert into course (num_course, level, price, type_course, support, instructor_num_instructor) " +
+                "values (?, ?, ?, ?, ?, 1)", courses);
+
+        LocalDate adult = LocalDate.now().minusYears(30);
+        LocalDate child = LocalDate.now().minusYears(10);
+        TypeSubscription[] types = TypeSubscription.values();
+        for (int from = 1; from <= rows; from += CHUNK) {
+            List<Object[]> subscriptions = new ArrayList<>();
+            List<Object[]> skiers = new ArrayList<>();
+            List<Object[]> registrations = new ArrayList<>();
+            for (int i = from; i < from + CHUNK && i <= rows; i++) {
+                TypeSubscription type = types[i % types.length];
+                subscriptions.add(new Object[]{i, Date.valueOf(START), Date.valueOf(endDate(type)), price(type), type.name()});
+                skiers.add(new Object[]{i, "First" + i, "Last" + i, Date.valueOf(i % 2 == 1 ? adult : child), "Ain Draham", i});
+                registrations.add(new Object[]{i, i % 52 + 1, i});
+            }
+            jdbc.batchUpdate("insert into subscription (num_sub, start_date, end_date, price, type_sub) values (?, ?, ?, ?, ?)", subscriptions);
+            jdbc.batchUpdate("insert into skier (num_skier, first_name, last_name, date_of_birth, city, subscription_num_sub) " +
+                    "values (?, ?, ?, ?, ?, ?)", skiers);
+            jdbc.batchUpdate("insert into registration (num_registration, num_week, skier_num_skier, course_num_course) " +
+                    "values (?, ?, ?, " + HISTORY_COURSE + ")", registrations);
+        }
+
+        // Hand the id ranges used above back to the pooled sequences
+        restart(jdbc, "instructor_seq", 2);
+        restart(jdbc, "course_seq", HISTORY_COURSE + 1);
+        restart(jdbc, "subscription_seq", rows + 1L);
+        restart(jdbc, "skier_seq", rows + 1L);
+        restart(jdbc, "registration_seq", rows + 1L);
+
+        // In-memory views were built at startup from an empty database
+        context.getBean(CourseCapacityLedger.class).warmUp();
+        context.getBean(SkierEligibilityIndex.class).warmUp();
+        context.getBean(RecurringRevenueAggregate.class).reload();
+    }
+
+    static long courseId(TypeCourse type, int index) {
+        return (long) type.ordinal() * COURSES_PER_TYPE + index + 1;
+    }
+
+    static long adultSkier(int n, int rows) {
+        return 2L * (n % (rows / 2)) + 1;
+    }
+
+    static long childSkier(int n, int rows) {
+        return 2L * (n % (rows / 2)) + 2;
+    }
+
+    static LocalDate endDate(TypeSubscription type) {
+        switch (type) {
+            case ANNUAL:
+                return START.plusYears(1);
+            case SEMESTRIEL:
+                return START.plusMonths(6);
+            default:
+                return START.plusMonths(1);
+        }
+    }
+
+    private static float price(TypeSubscription type) {
+        switch (type) {
+            case ANNUAL:
+                return 1200f;
+            case SEMESTRIEL:
+                return 700f;
+            default:
+                return 150f;
+        }
+    }
+
+    private static void restart(JdbcTemplate jdbc, String sequence, long next) {
+        jdbc.execute("alter sequence " + sequence + " restart with " + next);
+    }
+}
@@ -0,0 +1,84 @@
+package tn.esprit.spring.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load generator: each client sends its next request as soon as the previous one answers.
+ * Run it against the application once with and once without {@code app.threads.virtual.enabled}:
+ * <pre>
+ * java -cp target/test-classes tn.esprit.spring.benchmarks.HttpLoadDriver http://localhost:8081/course/get/1 1000 30
+ * </pre>
+ */
+public final class HttpLoadDriver {
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final long deadline;
+    private final CountDownLatch finished;
+    private final LongAdder failures = new LongAdder();
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+    private HttpLoadDriver(URI target, int clients, Duration duration) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.request = HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(30)).GET().build();
+        this.deadline = System.nanoTime() + duration.toNanos();
+        this.finished = new CountDownLatch(clients);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        URI target = URI.create(args.length > 0 ? args[0] : "http://localhost:8081/course/get/1");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+        HttpLoadDriver driver = new HttpLoadDriver(target, clients, duration);
+        for (int i = 0; i < clients; i++) {
+            driver.next();
+        }
+        driver.finished.await();
+        driver.report(clients, duration);
+    }
+
+    private void next() {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error == null && response.statusCode() < 400) {
+                latencies.add(System.nanoTime() - start);
+            } else {
+                failures.increment();
+            }
+            next();
+        });
+    }
+
+    private void report(int clients, Duration duration) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("clients=%d duration=%ds ok=%d failed=%d throughput=%.1f req/s p50=%.1fms p99=%.1fms%n",
+                clients, duration.getSeconds(), sorted.size(), failures.sum(),
+                sorted.size() / (double) duration.getSeconds(), percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(quantile * sorted.size()))) / 1_000_000.0;
+    }
+}
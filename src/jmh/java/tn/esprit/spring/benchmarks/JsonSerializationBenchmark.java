@@ -0,0 +1,99 @@
+package tn.esprit.spring.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tn.esprit.spring.dto.SkierView;
+import tn.esprit.spring.services.ISkierServices;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU and bytes of one {@code /skier/all} body: reflective vs Blackbird serialization, plain and gzipped.
+ * Single-threaded average time per op is the CPU cost; the body sizes are printed when a trial ends.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"100000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private List<SkierView> skiers;
+    private ObjectMapper reflective;
+    private ObjectMapper blackbird;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.start();
+        BenchmarkFixtures.seed(context, rows);
+        skiers = context.getBean(ISkierServices.class).retrieveAllSkiers();
+        reflective = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        blackbird = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%d skiers: %d bytes plain, %d bytes gzip%n", rows, reflective(), gzip(reflective));
+        context.close();
+    }
+
+    @Benchmark
+    public long reflective() throws IOException {
+        return write(reflective, new CountingOutputStream());
+    }
+
+    @Benchmark
+    public long blackbird() throws IOException {
+        return write(blackbird, new CountingOutputStream());
+    }
+
+    @Benchmark
+    public long blackbirdGzip() throws IOException {
+        return gzip(blackbird);
+    }
+
+    private long gzip(ObjectMapper mapper) throws IOException {
+        CountingOutputStream bytes = new CountingOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192)) {
+            mapper.writeValue(gzip, skiers);
+        }
+        return bytes.count;
+    }
+
+    private long write(ObjectMapper mapper, CountingOutputStream bytes) throws IOException {
+        mapper.writeValue(bytes, skiers);
+        return bytes.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package tn.esprit.spring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tn.esprit.spring.entities.Registration;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.services.CourseCapacityLedger;
+import tn.esprit.spring.services.IRegistrationServices;
+
+import java.util.concurrent.TimeUnit;
+
+import static tn.esprit.spring.benchmarks.BenchmarkFixtures.*;
+
+/**
+ * Single registrations through {@code addRegistrationAndAssignToSkierAndCourse}, one course type per run.
+ * Invocation n goes to course n mod 1000 in week (n / 1000) mod 53 + 1, and each further round of 53,000
+ * invocations moves every course-week on to the next skier. A skier/course/week combination therefore
+ * repeats only after 53,000 * rows / 2 invocations, well past one iteration. Registrations made during an
+ * iteration are dropped afterwards. Collective courses fill up after six rounds (318,000 invocations in one
+ * iteration); beyond that the run measures the course-full path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RegistrationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    @Param({"INDIVIDUAL", "COLLECTIVE_CHILDREN", "COLLECTIVE_ADULT"})
+    TypeCourse typeCourse;
+
+    private ConfigurableApplicationContext context;
+    private IRegistrationServices registrationServices;
+    private CourseCapacityLedger capacityLedger;
+    private JdbcTemplate jdbc;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = start();
+        seed(context, rows);
+        registrationServices = context.getBean(IRegistrationServices.class);
+        capacityLedger = context.getBean(CourseCapacityLedger.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reset() {
+        jdbc.update("delete from registration where course_num_course <> ?", HISTORY_COURSE);
+        capacityLedger.warmUp();
+        invocation = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Registration register() {
+        int n = invocation++;
+        int slot = n / COURSES_PER_TYPE;
+        int round = slot / Registration.MAX_WEEK;
+        Registration registration = new Registration();
+        registration.setNumWeek(slot % Registration.MAX_WEEK + 1);
+        // 53,001 shares no factor with rows / 2, so the shift by round gives each course-week a new skier
+        long skier = typeCourse == TypeCourse.COLLECTIVE_CHILDREN ? childSkier(n + round, rows) : adultSkier(n + round, rows);
+        return registrationServices.addRegistrationAndAssignToSkierAndCourse(registration, skier,
+                courseId(typeCourse, n % COURSES_PER_TYPE));
+    }
+}
@@ -0,0 +1,54 @@
+package tn.esprit.spring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import tn.esprit.spring.dto.MonthlyRecurringRevenue;
+import tn.esprit.spring.services.ISubscriptionServices;
+import tn.esprit.spring.services.RecurringRevenueAggregate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hourly MRR rebuild (one grouped query) with the per-request read of the in-memory aggregate.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RevenueBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private RecurringRevenueAggregate revenueAggregate;
+    private ISubscriptionServices subscriptionServices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.start();
+        BenchmarkFixtures.seed(context, rows);
+        revenueAggregate = context.getBean(RecurringRevenueAggregate.class);
+        subscriptionServices = context.getBean(ISubscriptionServices.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MonthlyRecurringRevenue reload() {
+        revenueAggregate.reload();
+        return revenueAggregate.current();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public MonthlyRecurringRevenue read() {
+        return subscriptionServices.getMonthlyRecurringRevenue();
+    }
+}
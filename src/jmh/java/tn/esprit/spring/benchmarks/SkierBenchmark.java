@@ -0,0 +1,62 @@
+package tn.esprit.spring.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import tn.esprit.spring.dto.SkierView;
+import tn.esprit.spring.entities.Skier;
+import tn.esprit.spring.entities.Subscription;
+import tn.esprit.spring.entities.TypeSubscription;
+import tn.esprit.spring.services.ISkierServices;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SkierBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private ISkierServices skierServices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.start();
+        BenchmarkFixtures.seed(context, rows);
+        skierServices = context.getBean(ISkierServices.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Skier addSkier() {
+        Subscription subscription = new Subscription();
+        subscription.setStartDate(LocalDate.now());
+        subscription.setPrice(150f);
+        subscription.setTypeSub(TypeSubscription.MONTHLY);
+        Skier skier = new Skier();
+        skier.setFirstName("Bench");
+        skier.setLastName("Skier");
+        skier.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        skier.setCity("Ain Draham");
+        skier.setSubscription(subscription);
+        return skierServices.addSkier(skier);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<SkierView> retrieveSkiersBySubscriptionType() {
+        return skierServices.retrieveSkiersBySubscriptionType(TypeSubscription.ANNUAL);
+    }
+}
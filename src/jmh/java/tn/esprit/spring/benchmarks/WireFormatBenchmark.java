@@ -0,0 +1,103 @@
+package tn.esprit.spring.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import tn.esprit.spring.entities.Registration;
+import tn.esprit.spring.entities.Skier;
+import tn.esprit.spring.entities.Subscription;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload size and encode/parse time of a skier sync batch (skier, subscription and one registration each)
+ * as JSON, Smile and CBOR. The payload sizes are printed when a trial ends.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<Skier>> SKIERS = new TypeReference<>() {
+    };
+
+    @Param({"1000", "100000"})
+    int rows;
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    private ObjectMapper mapper;
+    private List<Skier> skiers;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        skiers = new ArrayList<>(rows);
+        for (long i = 1; i <= rows; i++) {
+            skiers.add(skier(i));
+        }
+        payload = mapper.writeValueAsBytes(skiers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%d skiers as %s: %d bytes%n", rows, format, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(skiers);
+    }
+
+    @Benchmark
+    public List<Skier> parse() throws IOException {
+        return mapper.readValue(payload, SKIERS);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+            case "cbor":
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private static Skier skier(long i) {
+        Subscription subscription = new Subscription(i, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1),
+                900f, TypeSubscription.ANNUAL);
+        Registration registration = new Registration();
+        registration.setNumRegistration(i);
+        registration.setNumWeek((int) (i % 52) + 1);
+        Skier skier = new Skier();
+        skier.setNumSkier(i);
+        skier.setFirstName("First" + i);
+        skier.setLastName("Last" + i);
+        skier.setDateOfBirth(LocalDate.of(1990, 1, 1).plusDays(i % 10_000));
+        skier.setCity("Ain Draham");
+        skier.setSubscription(subscription);
+        skier.setRegistrations(Set.of(registration));
+        return skier;
+    }
+}
@@ -0,0 +1,140 @@
+package tn.esprit.spring.configs;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conditional GET for polled read endpoints. The ETag is built from the journal version of every entity type
+ * the response depends on, plus the startup time because the versions restart with the (in-memory) database.
+ * A matching {@code If-None-Match} is answered with 304 before the request reaches a controller.
+ */
+final class ConditionalGetFilter extends OncePerRequestFilter {
+
+    private static final CacheControl NOT_CACHEABLE = CacheControl.noStore();
+
+    private final MutationJournal mutationJournal;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, Policy> policies = new LinkedHashMap<>();
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    ConditionalGetFilter(MutationJournal mutationJournal) {
+        this.mutationJournal = mutationJournal;
+    }
+
+    ConditionalGetFilter register(String pattern, CacheControl cacheControl, EntityType... dependsOn) {
+        policies.put(pattern, new Policy(cacheControl, dependsOn));
+        return this;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Policy policy = policyFor(urlPathHelper.getPathWithinApplication(request));
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String etag = etag(policy);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, policy.cacheControl.getHeaderValue());
+        // The same tag is served as JSON, Smile or CBOR
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        chain.doFilter(request, new SuccessOnlyCaching(response));
+    }
+
+    private Policy policyFor(String path) {
+        for (Map.Entry<String, Policy> entry : policies.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    // Read before the controller runs, so a concurrent commit can only make the tag older than the body, never newer
+    private String etag(Policy policy) {
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch);
+        for (EntityType type : policy.dependsOn) {
+            tag.append('-').append(Long.toString(mutationJournal.version(type), 36));
+        }
+        return tag.append('"').toString();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Policy {
+        private final CacheControl cacheControl;
+        private final EntityType[] dependsOn;
+
+        private Policy(CacheControl cacheControl, EntityType[] dependsOn) {
+            this.cacheControl = cacheControl;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    // Errors must not be cached under the tag that was set before the controller ran
+    private static final class SuccessOnlyCaching extends HttpServletResponseWrapper {
+
+        private SuccessOnlyCaching(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            super.setStatus(sc);
+            if (sc >= 300) {
+                setHeader(HttpHeaders.CACHE_CONTROL, NOT_CACHEABLE.getHeaderValue());
+            }
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            setHeader(HttpHeaders.CACHE_CONTROL, NOT_CACHEABLE.getHeaderValue());
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            setHeader(HttpHeaders.CACHE_CONTROL, NOT_CACHEABLE.getHeaderValue());
+            super.sendError(sc, msg);
+        }
+    }
+}
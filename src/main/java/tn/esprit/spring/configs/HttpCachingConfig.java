@@ -0,0 +1,36 @@
+package tn.esprit.spring.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+
+import java.time.Duration;
+
+/**
+ * ETag and Cache-Control policies of the endpoints mobile clients poll. Course snapshots embed their instructor,
+ * and subscriptions are also created and removed together with skiers.
+ */
+@Configuration
+public class HttpCachingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConditionalGetFilter> conditionalGetFilter(
+            MutationJournal mutationJournal,
+            @Value("${app.http.cache.courses-max-age:30s}") Duration coursesMaxAge,
+            @Value("${app.http.cache.pistes-max-age:5m}") Duration pistesMaxAge) {
+        ConditionalGetFilter filter = new ConditionalGetFilter(mutationJournal)
+                .register("/course/all", CacheControl.maxAge(coursesMaxAge).cachePublic().mustRevalidate(),
+                        EntityType.COURSE, EntityType.INSTRUCTOR)
+                .register("/piste/all", CacheControl.maxAge(pistesMaxAge).cachePublic().mustRevalidate(),
+                        EntityType.PISTE)
+                .register("/api/v1/subscriptions/by-type/*", CacheControl.noCache().cachePrivate(),
+                        EntityType.SUBSCRIPTION, EntityType.SKIER);
+        FilterRegistrationBean<ConditionalGetFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/course/all", "/piste/all", "/api/v1/subscriptions/by-type/*");
+        return registration;
+    }
+}
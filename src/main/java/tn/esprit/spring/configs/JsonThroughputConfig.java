@@ -0,0 +1,26 @@
+package tn.esprit.spring.configs;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * High-throughput JSON mode ({@code app.json.high-throughput.enabled=true}): Blackbird replaces reflective
+ * getter calls with generated lambdas for every serialized type. Boot registers the module on the shared
+ * {@code ObjectMapper}, so controllers, NDJSON streams and exports all use it. Output buffers are already
+ * recycled per thread by Jackson; compression is configured with {@code server.compression.*}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.json.high-throughput.enabled", havingValue = "true")
+public class JsonThroughputConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        log.info("JSON serialization uses Blackbird generated accessors");
+        return new BlackbirdModule();
+    }
+}
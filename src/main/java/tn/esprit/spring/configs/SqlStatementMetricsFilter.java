@@ -0,0 +1,46 @@
+package tn.esprit.spring.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request issued, per route, as {@code http.server.requests.sql.statements}.
+ * Work done after the request thread returns (streamed bodies) is not attributed.
+ */
+final class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "http.server.requests.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    SqlStatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC)
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route == null ? "UNKNOWN" : route.toString())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(SqlStatementCounter.current());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package tn.esprit.spring.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Opt-in execution mode ({@code app.threads.virtual.enabled=true}) where Tomcat runs every request and
+ * the scheduler runs every {@code @Scheduled} job on its own virtual thread. Needs a Java 21 runtime;
+ * the build targets Java 17, so the virtual thread builder is looked up reflectively.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestExecutor() {
+        ThreadFactory threads = virtualThreadFactory("http-vt-");
+        log.info("Tomcat requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(task -> threads.newThread(task).start());
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Runtime.getRuntime().availableProcessors());
+        scheduler.setThreadFactory(virtualThreadFactory("scheduling-vt-"));
+        return scheduler;
+    }
+
+    // Thread.ofVirtual().name(prefix, 0).factory()
+    static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual.enabled requires a Java 21 runtime", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package tn.esprit.spring.configs;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary wire formats next to JSON for the gate terminals and sync jobs: {@code application/x-jackson-smile}
+ * and {@code application/cbor}, chosen per request with {@code Accept} / {@code Content-Type}.
+ * Spring MVC already registers default Smile and CBOR converters when the jars are present, built without
+ * Boot's customizers; they are swapped in place for converters whose mappers come from Boot's builder, so
+ * the binary formats share the JSON mapper's modules (Blackbird included) and date settings. JSON stays
+ * first so clients that accept anything keep getting JSON.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    // Boot's builder is a prototype bean: one fresh instance per format, so the factories do not leak across
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders;
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders) {
+        this.objectMapperBuilders = objectMapperBuilders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        replaceOrAdd(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(objectMapperBuilders.getObject().factory(new SmileFactory()).build()));
+        replaceOrAdd(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(objectMapperBuilders.getObject().factory(new CBORFactory()).build()));
+    }
+
+    // Takes over the default converter's slot, which keeps the order MVC negotiates in
+    private static void replaceOrAdd(List<HttpMessageConverter<?>> converters, Class<?> type, HttpMessageConverter<?> converter) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+    }
+}
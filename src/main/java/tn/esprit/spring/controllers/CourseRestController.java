@@ -1,5 +1,6 @@
 package tn.esprit.spring.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -8,7 +9,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tn.esprit.spring.dto.CourseAvailability;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.KeysetPage;
 import tn.esprit.spring.entities.Course;
+import tn.esprit.spring.entities.Registration;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
 import tn.esprit.spring.services.ICourseServices;
 
 import javax.validation.Valid;
@@ -21,50 +29,51 @@ import java.util.List;
 public class CourseRestController {
 
     private final ICourseServices courseServices;
+    private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(CourseRestController.class);
 
     @Operation(description = "Add Course")
     @PostMapping("/add")
     public ResponseEntity<Course> addCourse(@Valid @RequestBody Course course) {
-        logger.info("📌 [ADD] Request to add a new course: {}", course);
+        logger.debug("📌 [ADD] Request to add a new course");
         Course savedCourse = courseServices.addCourse(course);
-        logger.info("✅ Course successfully added: {}", savedCourse);
+        logger.debug("✅ Course successfully added: {}", savedCourse.getNumCourse());
         return ResponseEntity.ok(savedCourse);
     }
 
     @Operation(description = "Retrieve all Courses")
     @GetMapping("/all")
-    public ResponseEntity<List<Course>> getAllCourses() {
-        logger.info("📌 [GET ALL] Retrieving all courses...");
-        List<Course> courses = courseServices.retrieveAllCourses();
-        logger.info("✅ Total courses found: {}", courses.size());
+    public ResponseEntity<List<CourseSnapshot>> getAllCourses() {
+        logger.debug("📌 [GET ALL] Retrieving all courses...");
+        List<CourseSnapshot> courses = courseServices.retrieveAllCourses();
+        logger.debug("✅ Total courses found: {}", courses.size());
         return ResponseEntity.ok(courses);
     }
 
     @Operation(description = "Update Course")
     @PutMapping("/update")
     public ResponseEntity<Course> updateCourse(@Valid @RequestBody Course course) {
-        logger.info("📌 [UPDATE] Request to update course: {}", course);
+        logger.debug("📌 [UPDATE] Request to update course: {}", course.getNumCourse());
         Course updatedCourse = courseServices.updateCourse(course);
         if (updatedCourse == null) {
-            logger.warn("⚠️ Course not found for update: {}", course);
+            logger.warn("⚠️ Course not found for update: {}", course.getNumCourse());
             return ResponseEntity.notFound().build();
         }
-        logger.info("✅ Course successfully updated: {}", updatedCourse);
+        logger.debug("✅ Course successfully updated: {}", updatedCourse.getNumCourse());
         return ResponseEntity.ok(updatedCourse);
     }
 
     @GetMapping("/get/{id}")
-    public ResponseEntity<Course> getById(@PathVariable("id") String numCourse) {
-        logger.info("📌 [GET BY ID] Retrieving course with ID: {}", numCourse);
+    public ResponseEntity<CourseSnapshot> getById(@PathVariable("id") String numCourse) {
+        logger.debug("📌 [GET BY ID] Retrieving course with ID: {}", numCourse);
         try {
             Long id = Long.parseLong(numCourse);
-            Course course = courseServices.retrieveCourse(id);
+            CourseSnapshot course = courseServices.retrieveCourse(id);
             if (course == null) {
                 logger.warn("⚠️ Course not found with ID: {}", numCourse);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
-            logger.info("✅ Course retrieved successfully: {}", course);
+            logger.debug("✅ Course retrieved successfully: {}", course.getNumCourse());
             return ResponseEntity.ok(course);
         } catch (NumberFormatException e) {
             logger.error("❌ Invalid course ID format: {}", numCourse, e);
@@ -75,11 +84,11 @@ public class CourseRestController {
     @Operation(description = "Delete Course by ID")
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Void> deleteCourse(@PathVariable("id") Long numCourse) {
-        logger.info("📌 [DELETE] Request received to delete course with ID: {}", numCourse);
+        logger.debug("📌 [DELETE] Request received to delete course with ID: {}", numCourse);
 
         if (courseServices.retrieveCourse(numCourse) != null) {
             courseServices.deleteCourse(numCourse);
-            logger.info("✅ Course successfully deleted with ID: {}", numCourse);
+            logger.debug("✅ Course successfully deleted with ID: {}", numCourse);
             return ResponseEntity.noContent().build();
         } else {
             logger.warn("⚠️ Course with ID {} not found", numCourse);
@@ -87,4 +96,32 @@ public class CourseRestController {
         }
     }
 
+    @Operation(description = "Search Courses with free seats in a given week")
+    @GetMapping("/search")
+    public ResponseEntity<List<CourseAvailability>> searchCourses(@RequestParam(value = "typeCourse", required = false) TypeCourse typeCourse,
+                                                                  @RequestParam(value = "support", required = false) Support support,
+                                                                  @RequestParam(value = "level", required = false) Integer level,
+                                                                  @RequestParam("week") int numWeek) {
+        if (numWeek < Registration.MIN_WEEK || numWeek > Registration.MAX_WEEK) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(courseServices.searchAvailableCourses(typeCourse, support, level, numWeek));
+    }
+
+    @Operation(description = "Retrieve Courses one page at a time, ordered by id")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<CourseSnapshot>> getCoursesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam(value = "size", defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(courseServices.retrieveCoursesPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(description = "Stream all Courses as newline-delimited JSON")
+    @GetMapping(value = "/stream", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCourses() {
+        return NdjsonStreams.ok(objectMapper, courseServices::streamAllCourses);
+    }
 }
\ No newline at end of file
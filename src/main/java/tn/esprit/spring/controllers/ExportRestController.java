@@ -0,0 +1,81 @@
+package tn.esprit.spring.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tn.esprit.spring.dto.RowFormat;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.entities.TypeSubscription;
+import tn.esprit.spring.services.IExportServices;
+
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@Tag(name = "\uD83D\uDCE4 Export")
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+public class ExportRestController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final IExportServices exportServices;
+
+    @Operation(description = "Stream Subscriptions as CSV or NDJSON, filtered by start date range and type")
+    @GetMapping("/subscriptions")
+    public ResponseEntity<StreamingResponseBody> exportSubscriptions(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "type", required = false) TypeSubscription typeSub,
+            @RequestParam(value = "format", defaultValue = "CSV") RowFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export("subscriptions", format, acceptEncoding,
+                out -> exportServices.exportSubscriptions(from, to, typeSub, format, out));
+    }
+
+    @Operation(description = "Stream Registrations as CSV or NDJSON, filtered by week range, course type and support")
+    @GetMapping("/registrations")
+    public ResponseEntity<StreamingResponseBody> exportRegistrations(
+            @RequestParam(value = "fromWeek", required = false) Integer fromWeek,
+            @RequestParam(value = "toWeek", required = false) Integer toWeek,
+            @RequestParam(value = "typeCourse", required = false) TypeCourse typeCourse,
+            @RequestParam(value = "support", required = false) Support support,
+            @RequestParam(value = "format", defaultValue = "CSV") RowFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export("registrations", format, acceptEncoding,
+                out -> exportServices.exportRegistrations(fromWeek, toWeek, typeCourse, support, format, out));
+    }
+
+    // Gzips the stream itself when the client accepts it, so compression happens as rows are written
+    private static ResponseEntity<StreamingResponseBody> export(String name, RowFormat format, String acceptEncoding,
+                                                                StreamingResponseBody rows) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE)) {
+                    rows.writeTo(compressed);
+                }
+            } else {
+                rows.writeTo(out);
+            }
+        };
+        boolean csv = format == RowFormat.CSV;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(csv ? MediaType.valueOf("text/csv") : MediaType.valueOf(NdjsonStreams.APPLICATION_NDJSON_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(name + (csv ? ".csv" : ".ndjson")).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -1,9 +1,14 @@
 package tn.esprit.spring.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tn.esprit.spring.dto.InstructorSnapshot;
+import tn.esprit.spring.dto.KeysetPage;
 import tn.esprit.spring.entities.Instructor;
 import tn.esprit.spring.services.IInstructorServices;
 
@@ -16,6 +21,7 @@ import java.util.List;
 public class InstructorRestController {
 
     private final IInstructorServices instructorServices;
+    private final ObjectMapper objectMapper;
 
     @Operation(description = "Add Instructor")
     @PostMapping("/add")
@@ -29,7 +35,7 @@ public class InstructorRestController {
     }
     @Operation(description = "Retrieve all Instructors")
     @GetMapping("/all")
-    public List<Instructor> getAllInstructors(){
+    public List<InstructorSnapshot> getAllInstructors(){
         return instructorServices.retrieveAllInstructors();
     }
 
@@ -40,8 +46,24 @@ public class InstructorRestController {
     }
     @Operation(description = "Retrieve Instructor by Id")
     @GetMapping("/get/{id-instructor}")
-    public Instructor getById(@PathVariable("id-instructor") Long numInstructor){
+    public InstructorSnapshot getById(@PathVariable("id-instructor") Long numInstructor){
         return instructorServices.retrieveInstructor(numInstructor);
     }
 
+    @Operation(description = "Retrieve Instructors one page at a time, ordered by id")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<InstructorSnapshot>> getInstructorsPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                             @RequestParam(value = "size", defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(instructorServices.retrieveInstructorsPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(description = "Stream all Instructors as newline-delimited JSON")
+    @GetMapping(value = "/stream", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllInstructors() {
+        return NdjsonStreams.ok(objectMapper, instructorServices::streamAllInstructors);
+    }
 }
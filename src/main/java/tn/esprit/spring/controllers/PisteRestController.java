@@ -1,9 +1,14 @@
 package tn.esprit.spring.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tn.esprit.spring.dto.KeysetPage;
+import tn.esprit.spring.dto.PisteView;
 import tn.esprit.spring.entities.Piste;
 import tn.esprit.spring.services.IPisteServices;
 
@@ -16,6 +21,7 @@ import java.util.List;
 public class PisteRestController {
 
     private final IPisteServices pisteServices;
+    private final ObjectMapper objectMapper;
 
     @Operation(description = "Add Piste")
     @PostMapping("/add")
@@ -24,13 +30,13 @@ public class PisteRestController {
     }
     @Operation(description = "Retrieve all Pistes")
     @GetMapping("/all")
-    public List<Piste> getAllPistes(){
+    public List<PisteView> getAllPistes(){
         return pisteServices.retrieveAllPistes();
     }
 
     @Operation(description = "Retrieve Piste by Id")
     @GetMapping("/get/{id-piste}")
-    public Piste getById(@PathVariable("id-piste") Long numPiste){
+    public PisteView getById(@PathVariable("id-piste") Long numPiste){
         return pisteServices.retrievePiste(numPiste);
     }
 
@@ -39,6 +45,21 @@ public class PisteRestController {
     public void deleteById(@PathVariable("id-piste") Long numPiste){
         pisteServices.removePiste(numPiste);
     }
-    
 
+    @Operation(description = "Retrieve Pistes one page at a time, ordered by id")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<PisteView>> getPistesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                               @RequestParam(value = "size", defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(pisteServices.retrievePistesPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(description = "Stream all Pistes as newline-delimited JSON")
+    @GetMapping(value = "/stream", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllPistes() {
+        return NdjsonStreams.ok(objectMapper, pisteServices::streamAllPistes);
+    }
 }
@@ -3,23 +3,38 @@ package tn.esprit.spring.controllers;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import tn.esprit.spring.dto.InstructorWeekLoad;
+import tn.esprit.spring.dto.RegistrationOutcome;
+import tn.esprit.spring.dto.RegistrationRequest;
+import tn.esprit.spring.dto.RegistrationResult;
 import tn.esprit.spring.entities.Registration;
 import tn.esprit.spring.entities.Support;
 import tn.esprit.spring.services.IRegistrationServices;
+import tn.esprit.spring.services.RegistrationIntake;
 
+import javax.validation.ConstraintViolationException;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @Tag(name = "\uD83D\uDDD3️Registration Management")
+@Validated
 @RestController
 @RequestMapping("/registration")
 @RequiredArgsConstructor
 public class RegistrationRestController {
     private final IRegistrationServices registrationServices;
+    private final RegistrationIntake registrationIntake;
 
     @Operation(description = "Add Registration and Assign to Skier")
     @PutMapping("/addAndAssignToSkier/{numSkieur}")
-    public Registration addAndAssignToSkier(@RequestBody Registration registration,
+    public Registration addAndAssignToSkier(@Valid @RequestBody Registration registration,
                                                      @PathVariable("numSkieur") Long numSkieur)
     {
         return  registrationServices.addRegistrationAndAssignToSkier(registration,numSkieur);
@@ -34,17 +49,60 @@ public class RegistrationRestController {
 
     @Operation(description = "Add Registration and Assign to Skier and Course")
     @PutMapping("/addAndAssignToSkierAndCourse/{numSkieur}/{numCourse}")
-    public Registration addAndAssignToSkierAndCourse(@RequestBody Registration registration,
+    public Registration addAndAssignToSkierAndCourse(@Valid @RequestBody Registration registration,
                                                      @PathVariable("numSkieur") Long numSkieur,
                                                      @PathVariable("numCourse") Long numCourse)
     {
         return  registrationServices.addRegistrationAndAssignToSkierAndCourse(registration,numSkieur,numCourse);
     }
 
+    @Operation(description = "Add a roster of Registrations in one transaction and report the outcome of each row")
+    @PostMapping("/batch")
+    public List<RegistrationOutcome> addRegistrationsInBatch(
+            @RequestBody @Size(max = IRegistrationServices.MAX_BATCH_SIZE) List<@NotNull @Valid RegistrationRequest> requests) {
+        return registrationServices.addRegistrationsInBatch(requests);
+    }
+
+    @Operation(description = "Queue a Registration; admission is ordered per course-week and the response arrives once it is committed")
+    @PostMapping("/async")
+    public CompletableFuture<RegistrationResult> submitRegistration(@Valid @RequestBody RegistrationRequest request) {
+        return registrationIntake.submit(request);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public void invalidBatch() {
+        // the batch is over MAX_BATCH_SIZE or has a null or incomplete row
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public void invalidRequest() {
+        // the service refused the request itself, e.g. a batch over MAX_BATCH_SIZE
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void intakeFull() {
+        // the intake queue is full or shutting down, the client should retry later
+    }
+
     @Operation(description = "Numbers of the weeks when an instructor has given lessons in a given support")
     @GetMapping("/numWeeks/{numInstructor}/{support}")
     public List<Integer> numWeeksCourseOfInstructorBySupport(@PathVariable("numInstructor")Long numInstructor,
                                                                   @PathVariable("support") Support support) {
         return registrationServices.numWeeksCourseOfInstructorBySupport(numInstructor,support);
     }
+
+    @Operation(description = "Registrations per week and support for one instructor")
+    @GetMapping("/schedule/{numInstructor}")
+    public List<InstructorWeekLoad> instructorSchedule(@PathVariable("numInstructor") Long numInstructor) {
+        return registrationServices.instructorSchedule(numInstructor);
+    }
+
+    @Operation(description = "Registrations per week and support for every instructor")
+    @GetMapping("/schedule")
+    public List<InstructorWeekLoad> instructorSchedules() {
+        return registrationServices.instructorSchedules();
+    }
 }
@@ -1,13 +1,27 @@
 package tn.esprit.spring.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tn.esprit.spring.dto.KeysetPage;
+import tn.esprit.spring.dto.PassValidity;
+import tn.esprit.spring.dto.RowFormat;
+import tn.esprit.spring.dto.SkierImportReport;
+import tn.esprit.spring.dto.SkierView;
 import tn.esprit.spring.entities.Skier;
 import tn.esprit.spring.entities.TypeSubscription;
 import tn.esprit.spring.services.ISkierServices;
+import tn.esprit.spring.services.SkierImporter;
 
+import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Tag(name = "\uD83C\uDFC2 Skier Management")
@@ -16,7 +30,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SkierRestController {
 
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
     private final ISkierServices skierServices;
+    private final ObjectMapper objectMapper;
+    private final SkierImporter skierImporter;
 
     @Operation(description = "Add Skier")
     @PostMapping("/add")
@@ -24,9 +42,17 @@ public class SkierRestController {
         return  skierServices.addSkier(skier);
     }
 
+    @Operation(description = "Import Skiers with their Subscription from a CSV file (header row first) or NDJSON")
+    @PostMapping(value = "/import", consumes = {"text/csv", NdjsonStreams.APPLICATION_NDJSON_VALUE})
+    public SkierImportReport importSkiers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                          InputStream body) throws IOException {
+        RowFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV) ? RowFormat.CSV : RowFormat.NDJSON;
+        return skierImporter.importSkiers(body, format);
+    }
+
     @Operation(description = "Add Skier And Assign To Course")
     @PostMapping("/addAndAssign/{numCourse}")
-    public Skier addSkierAndAssignToCourse(@RequestBody Skier skier,
+    public Skier addSkierAndAssignToCourse(@Valid @RequestBody Skier skier,
                                            @PathVariable("numCourse") Long numCourse){
         return  skierServices.addSkierAndAssignToCourse(skier,numCourse);
     }
@@ -45,15 +71,22 @@ public class SkierRestController {
     }
     @Operation(description = "retrieve Skiers By Subscription Type")
     @GetMapping("/getSkiersBySubscription")
-    public List<Skier> retrieveSkiersBySubscriptionType(TypeSubscription typeSubscription) {
+    public List<SkierView> retrieveSkiersBySubscriptionType(TypeSubscription typeSubscription) {
         return skierServices.retrieveSkiersBySubscriptionType(typeSubscription);
     }
     @Operation(description = "Retrieve Skier by Id")
     @GetMapping("/get/{id-skier}")
-    public Skier getById(@PathVariable("id-skier") Long numSkier){
+    public SkierView getById(@PathVariable("id-skier") Long numSkier){
         return skierServices.retrieveSkier(numSkier);
     }
 
+    @Operation(description = "Check whether a Skier's pass is valid today, answered from memory")
+    @GetMapping("/{id-skier}/pass-valid")
+    public ResponseEntity<PassValidity> checkPass(@PathVariable("id-skier") Long numSkier) {
+        PassValidity pass = skierServices.checkPass(numSkier);
+        return pass == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(pass);
+    }
+
     @Operation(description = "Delete Skier by Id")
     @DeleteMapping("/delete/{id-skier}")
     public void deleteById(@PathVariable("id-skier") Long numSkier){
@@ -62,8 +95,24 @@ public class SkierRestController {
 
     @Operation(description = "Retrieve all Skiers")
     @GetMapping("/all")
-    public List<Skier> getAllSkiers(){
+    public List<SkierView> getAllSkiers(){
         return skierServices.retrieveAllSkiers();
     }
 
+    @Operation(description = "Retrieve Skiers one page at a time, ordered by id")
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<SkierView>> getSkiersPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                               @RequestParam(value = "size", defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(skierServices.retrieveSkiersPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(description = "Stream all Skiers as newline-delimited JSON")
+    @GetMapping(value = "/stream", produces = NdjsonStreams.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSkiers() {
+        return NdjsonStreams.ok(objectMapper, skierServices::streamAllSkiers);
+    }
 }
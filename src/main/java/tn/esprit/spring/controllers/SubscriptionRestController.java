@@ -13,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import tn.esprit.spring.dto.MonthlyRecurringRevenue;
+import tn.esprit.spring.dto.SubscriptionView;
 import tn.esprit.spring.entities.Subscription;
 import tn.esprit.spring.entities.TypeSubscription;
 import tn.esprit.spring.services.ISubscriptionServices;
@@ -54,10 +56,10 @@ public class SubscriptionRestController {
             @ApiResponse(responseCode = "404", description = "Subscription not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Subscription> getSubscription(
+    public ResponseEntity<SubscriptionView> getSubscription(
             @Parameter(description = "Subscription ID", required = true)
             @PathVariable("id") Long numSubscription) {
-        Subscription subscription = subscriptionServices.retrieveSubscriptionById(numSubscription);
+        SubscriptionView subscription = subscriptionServices.retrieveSubscriptionById(numSubscription);
         if (subscription == null) {
             return ResponseEntity.notFound().build();
         }
@@ -66,13 +68,19 @@ public class SubscriptionRestController {
 
     @Operation(summary = "Retrieve subscriptions by type")
     @GetMapping("/by-type/{type}")
-    public ResponseEntity<Set<Subscription>> getSubscriptionsByType(
+    public ResponseEntity<Set<SubscriptionView>> getSubscriptionsByType(
             @Parameter(description = "Subscription type", required = true)
             @PathVariable("type") TypeSubscription typeSubscription) {
-        Set<Subscription> subscriptions = subscriptionServices.getSubscriptionByType(typeSubscription);
+        Set<SubscriptionView> subscriptions = subscriptionServices.getSubscriptionByType(typeSubscription);
         return ResponseEntity.ok(subscriptions);
     }
 
+    @Operation(summary = "Current monthly recurring revenue, overall and per subscription type")
+    @GetMapping("/mrr")
+    public ResponseEntity<MonthlyRecurringRevenue> getMonthlyRecurringRevenue() {
+        return ResponseEntity.ok(subscriptionServices.getMonthlyRecurringRevenue());
+    }
+
     @Operation(summary = "Update an existing subscription")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Subscription updated"),
@@ -103,7 +111,7 @@ public class SubscriptionRestController {
 
     @Operation(summary = "Retrieve subscriptions between dates")
     @GetMapping("/by-date-range")
-    public ResponseEntity<List<Subscription>> getSubscriptionsByDateRange(
+    public ResponseEntity<List<SubscriptionView>> getSubscriptionsByDateRange(
             @Parameter(description = "Start date (yyyy-MM-dd)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @NotNull LocalDate startDate,
@@ -113,7 +121,7 @@ public class SubscriptionRestController {
             @NotNull LocalDate endDate) {
 
         validateDateRange(startDate, endDate);
-        List<Subscription> subscriptions =
+        List<SubscriptionView> subscriptions =
                 subscriptionServices.retrieveSubscriptionsByDates(startDate, endDate);
         return ResponseEntity.ok(subscriptions);
     }
@@ -125,7 +133,7 @@ public class SubscriptionRestController {
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSubscription(@PathVariable("id") Long id) {
-        Subscription subscription = subscriptionServices.retrieveSubscriptionById(id);
+        SubscriptionView subscription = subscriptionServices.retrieveSubscriptionById(id);
         if (subscription == null) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,16 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+
+@Value
+public class CourseAvailability {
+    Long numCourse;
+    Integer level;
+    Float price;
+    TypeCourse typeCourse;
+    Support support;
+    // null for individual courses, which are not seat-limited
+    Integer freeSeats;
+}
@@ -0,0 +1,43 @@
+package tn.esprit.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import tn.esprit.spring.entities.Course;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+
+import java.time.LocalDate;
+
+@Value
+@AllArgsConstructor
+public class CourseSnapshot {
+    Long numCourse;
+    Integer level;
+    Float price;
+    TypeCourse typeCourse;
+    Support support;
+    InstructorSnapshot instructor;
+
+    // Constructor expression target: the instructor columns come flat from the left join
+    public CourseSnapshot(Long numCourse, Integer level, Float price, TypeCourse typeCourse, Support support,
+                          Long numInstructor, String firstName, String lastName, LocalDate dateOfHire) {
+        this(numCourse, level, price, typeCourse, support,
+                numInstructor == null ? null : new InstructorSnapshot(numInstructor, firstName, lastName, dateOfHire));
+    }
+
+    public static CourseSnapshot of(Course course) {
+        return new CourseSnapshot(course.getNumCourse(), course.getLevel(), course.getPrice(), course.getTypeCourse(),
+                course.getSupport(), course.getInstructor() == null ? null : InstructorSnapshot.of(course.getInstructor()));
+    }
+
+    public Course toEntity() {
+        Course course = new Course();
+        course.setNumCourse(numCourse);
+        course.setLevel(level);
+        course.setPrice(price);
+        course.setTypeCourse(typeCourse);
+        course.setSupport(support);
+        course.setInstructor(instructor == null ? null : instructor.toEntity());
+        return course;
+    }
+}
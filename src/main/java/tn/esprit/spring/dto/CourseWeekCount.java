@@ -0,0 +1,10 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+
+@Value
+public class CourseWeekCount {
+    Long numCourse;
+    Integer numWeek;
+    Long total;
+}
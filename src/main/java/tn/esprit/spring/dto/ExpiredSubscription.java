@@ -0,0 +1,13 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class ExpiredSubscription {
+    Long numSub;
+    LocalDate endDate;
+    String firstName;
+    String lastName;
+}
@@ -0,0 +1,28 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.Instructor;
+
+import java.time.LocalDate;
+
+@Value
+public class InstructorSnapshot {
+    Long numInstructor;
+    String firstName;
+    String lastName;
+    LocalDate dateOfHire;
+
+    public static InstructorSnapshot of(Instructor instructor) {
+        return new InstructorSnapshot(instructor.getNumInstructor(), instructor.getFirstName(),
+                instructor.getLastName(), instructor.getDateOfHire());
+    }
+
+    public Instructor toEntity() {
+        Instructor instructor = new Instructor();
+        instructor.setNumInstructor(numInstructor);
+        instructor.setFirstName(firstName);
+        instructor.setLastName(lastName);
+        instructor.setDateOfHire(dateOfHire);
+        return instructor;
+    }
+}
@@ -0,0 +1,12 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.Support;
+
+@Value
+public class InstructorWeekLoad {
+    Long numInstructor;
+    Support support;
+    int numWeek;
+    int registrations;
+}
@@ -0,0 +1,11 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class KeysetPage<T> {
+    List<T> items;
+    String nextCursor;
+}
@@ -0,0 +1,13 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.util.Map;
+
+@Value
+public class MonthlyRecurringRevenue {
+    Double revenue;
+    Map<TypeSubscription, Double> averagePriceByType;
+    Map<TypeSubscription, Long> subscriptionsByType;
+}
@@ -0,0 +1,14 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.time.LocalDate;
+
+@Value
+public class PassValidity {
+    Long numSkier;
+    boolean valid;
+    TypeSubscription typeSub;
+    LocalDate endDate;
+}
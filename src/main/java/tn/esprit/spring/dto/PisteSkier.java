@@ -0,0 +1,21 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the piste to skier join, for attaching skiers to a page of pistes.
+ */
+@Value
+public class PisteSkier {
+    Long numPiste;
+    SkierView skier;
+
+    public PisteSkier(Long numPiste, Long numSkier, String firstName, String lastName, LocalDate dateOfBirth, String city,
+                      Long numSub, LocalDate startDate, LocalDate endDate, Float price, TypeSubscription typeSub) {
+        this.numPiste = numPiste;
+        this.skier = new SkierView(numSkier, firstName, lastName, dateOfBirth, city, numSub, startDate, endDate, price, typeSub);
+    }
+}
@@ -0,0 +1,29 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.Color;
+import tn.esprit.spring.entities.Piste;
+
+@Value
+public class PisteSnapshot {
+    Long numPiste;
+    String namePiste;
+    Color color;
+    int length;
+    int slope;
+
+    public static PisteSnapshot of(Piste piste) {
+        return new PisteSnapshot(piste.getNumPiste(), piste.getNamePiste(), piste.getColor(), piste.getLength(), piste.getSlope());
+    }
+
+    // The skier collection is not part of the snapshot
+    public Piste toEntity() {
+        Piste piste = new Piste();
+        piste.setNumPiste(numPiste);
+        piste.setNamePiste(namePiste);
+        piste.setColor(color);
+        piste.setLength(length);
+        piste.setSlope(slope);
+        return piste;
+    }
+}
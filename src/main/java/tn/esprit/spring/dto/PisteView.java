@@ -0,0 +1,23 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.Color;
+
+import java.util.List;
+
+/**
+ * Read model of a piste for the GET endpoints: the cached snapshot plus the skiers on it.
+ */
+@Value
+public class PisteView {
+    Long numPiste;
+    String namePiste;
+    Color color;
+    int length;
+    int slope;
+    List<SkierView> skiers;
+
+    public static PisteView of(PisteSnapshot piste, List<SkierView> skiers) {
+        return new PisteView(piste.getNumPiste(), piste.getNamePiste(), piste.getColor(), piste.getLength(), piste.getSlope(), skiers);
+    }
+}
@@ -0,0 +1,10 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+
+@Value
+public class RegistrationOutcome {
+    int index;
+    RegistrationStatus status;
+    Long numRegistration;
+}
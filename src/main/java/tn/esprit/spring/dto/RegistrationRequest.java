@@ -0,0 +1,23 @@
+package tn.esprit.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tn.esprit.spring.entities.Registration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationRequest {
+    @NotNull
+    private Long numSkier;
+    @NotNull
+    private Long numCourse;
+    @Min(Registration.MIN_WEEK)
+    @Max(Registration.MAX_WEEK)
+    private int numWeek;
+}
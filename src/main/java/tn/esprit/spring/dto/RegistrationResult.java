@@ -0,0 +1,16 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+
+/**
+ * Outcome of a single queued registration; unlike {@link RegistrationOutcome} it has no batch position.
+ */
+@Value
+public class RegistrationResult {
+    RegistrationStatus status;
+    Long numRegistration;
+
+    public static RegistrationResult of(RegistrationOutcome outcome) {
+        return new RegistrationResult(outcome.getStatus(), outcome.getNumRegistration());
+    }
+}
@@ -0,0 +1,5 @@
+package tn.esprit.spring.dto;
+
+public enum RegistrationStatus {
+    REGISTERED, SKIER_NOT_FOUND, COURSE_NOT_FOUND, ALREADY_REGISTERED, COURSE_FULL, AGE_NOT_ELIGIBLE, UNSUPPORTED_COURSE_TYPE, INVALID_WEEK
+}
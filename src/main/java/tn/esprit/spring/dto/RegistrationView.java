@@ -0,0 +1,16 @@
+package tn.esprit.spring.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+/**
+ * A registration as it appears inside a skier response: the same two fields the entity serialized.
+ * The skier id is only there to group the rows of one query per page.
+ */
+@Value
+public class RegistrationView {
+    Long numRegistration;
+    int numWeek;
+    @JsonIgnore
+    Long numSkier;
+}
@@ -0,0 +1,11 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.TypeSubscription;
+
+@Value
+public class RevenueByType {
+    TypeSubscription typeSub;
+    Double total;
+    Long count;
+}
@@ -0,0 +1,14 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SkierImportReport {
+    long imported;
+    long rejected;
+    // First rejected lines only, with their line number and reason
+    List<String> errors;
+    long elapsedMillis;
+}
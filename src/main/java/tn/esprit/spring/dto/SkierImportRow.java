@@ -0,0 +1,38 @@
+package tn.esprit.spring.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tn.esprit.spring.entities.Skier;
+import tn.esprit.spring.entities.Subscription;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.time.LocalDate;
+
+/**
+ * One line of a skier import: the skier and the subscription created with it.
+ */
+@Data
+@NoArgsConstructor
+public class SkierImportRow {
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+    private String city;
+    private TypeSubscription typeSub;
+    private LocalDate startDate;
+    private Float price;
+
+    public Skier toSkier() {
+        Subscription subscription = new Subscription();
+        subscription.setTypeSub(typeSub);
+        subscription.setStartDate(startDate);
+        subscription.setPrice(price);
+        Skier skier = new Skier();
+        skier.setFirstName(firstName);
+        skier.setLastName(lastName);
+        skier.setDateOfBirth(dateOfBirth);
+        skier.setCity(city);
+        skier.setSubscription(subscription);
+        return skier;
+    }
+}
@@ -0,0 +1,34 @@
+package tn.esprit.spring.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.With;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read model of a skier for the GET endpoints, selected with a constructor expression so nothing
+ * enters the persistence context. Registrations are attached afterwards with one query per page;
+ * pistes are not part of it.
+ */
+@Value
+@AllArgsConstructor
+public class SkierView {
+    Long numSkier;
+    String firstName;
+    String lastName;
+    LocalDate dateOfBirth;
+    String city;
+    SubscriptionView subscription;
+    @With
+    List<RegistrationView> registrations;
+
+    // Constructor expression target: the subscription columns come flat from the left join
+    public SkierView(Long numSkier, String firstName, String lastName, LocalDate dateOfBirth, String city,
+                     Long numSub, LocalDate startDate, LocalDate endDate, Float price, TypeSubscription typeSub) {
+        this(numSkier, firstName, lastName, dateOfBirth, city,
+                numSub == null ? null : new SubscriptionView(numSub, startDate, endDate, price, typeSub), List.of());
+    }
+}
@@ -0,0 +1,15 @@
+package tn.esprit.spring.dto;
+
+import lombok.Value;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.time.LocalDate;
+
+@Value
+public class SubscriptionView {
+    Long numSub;
+    LocalDate startDate;
+    LocalDate endDate;
+    Float price;
+    TypeSubscription typeSub;
+}
@@ -3,6 +3,8 @@ package tn.esprit.spring.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -15,11 +17,15 @@ import java.util.Set;
 @NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_course_instructor_support", columnList = "instructor_num_instructor, support"))
 @ToString
 public class Course implements Serializable {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+	@SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
 	Long numCourse;
 
 	@Column(nullable = false)
@@ -36,10 +42,13 @@ public class Course implements Serializable {
 	@Column(nullable = false)
 	Support support;
 
+	@ToString.Exclude
 	@ManyToOne
+	@JoinColumn(name = "instructor_num_instructor")
 	Instructor instructor;
 
 	@OneToMany(mappedBy = "course", cascade = CascadeType.ALL)
 	@JsonIgnore
+	@ToString.Exclude
 	Set<Registration> registrations = new HashSet<>();
 }
\ No newline at end of file
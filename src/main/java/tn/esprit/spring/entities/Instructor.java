@@ -3,6 +3,8 @@ package tn.esprit.spring.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -16,11 +18,14 @@ import java.util.Set;
 @NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @ToString
 public class Instructor implements Serializable {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "instructor_seq")
+	@SequenceGenerator(name = "instructor_seq", sequenceName = "instructor_seq", allocationSize = 50)
 	Long numInstructor;
 
 	@Column(nullable = false)
@@ -33,7 +38,9 @@ public class Instructor implements Serializable {
 	LocalDate dateOfHire;
 
 	@OneToMany(mappedBy = "instructor", cascade = CascadeType.ALL)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@JsonIgnore
+	@ToString.Exclude
 	private Set<Course> courses = new HashSet<>(); // Made private
 
 	// Utility method to manage bidirectional relationship
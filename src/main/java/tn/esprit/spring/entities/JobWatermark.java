@@ -0,0 +1,25 @@
+package tn.esprit.spring.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import javax.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Last date a scheduled job has processed up to, so a restart resumes where the previous run stopped.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+public class JobWatermark implements Serializable {
+
+	@Id
+	private String job;
+
+	private LocalDate watermark;
+}
@@ -12,6 +12,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -19,10 +21,13 @@ import lombok.experimental.FieldDefaults;
 @NoArgsConstructor
 @FieldDefaults(level=AccessLevel.PRIVATE)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Piste implements Serializable {
 
 	@Id
-	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="piste_seq")
+	@SequenceGenerator(name="piste_seq", sequenceName="piste_seq", allocationSize=50)
 	Long numPiste;
 	String namePiste;
 	@Enumerated(EnumType.STRING)
@@ -31,6 +36,7 @@ public class Piste implements Serializable {
 	int slope;
 
 	@ManyToMany(mappedBy= "pistes")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	Set<Skier> skiers;
 
 }
\ No newline at end of file
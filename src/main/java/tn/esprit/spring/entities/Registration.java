@@ -2,11 +2,18 @@ package tn.esprit.spring.entities;
 
 import java.io.Serializable;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
@@ -23,17 +30,32 @@ import lombok.experimental.FieldDefaults;
 @NoArgsConstructor
 @FieldDefaults(level=AccessLevel.PRIVATE)
 @Entity
+@Table(indexes = {
+		@Index(name = "idx_registration_course_week", columnList = "course_num_course, num_week"),
+		@Index(name = "idx_registration_skier_week_course", columnList = "skier_num_skier, num_week, course_num_course")
+})
 public class Registration implements Serializable {
 
+	public static final int MIN_WEEK = 1;
+	public static final int MAX_WEEK = 53;
+
 	@Id
-	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@GeneratedValue(strategy=GenerationType.SEQUENCE, generator="registration_seq")
+	@SequenceGenerator(name="registration_seq", sequenceName="registration_seq", allocationSize=50)
 	Long numRegistration;
+	@Column(name = "num_week")
+	@Min(MIN_WEEK)
+	@Max(MAX_WEEK)
 	int numWeek;
 
 	@JsonIgnore
+	@ToString.Exclude
 	@ManyToOne
+	@JoinColumn(name = "skier_num_skier")
 	Skier skier;
 	@JsonIgnore
+	@ToString.Exclude
 	@ManyToOne
+	@JoinColumn(name = "course_num_course")
 	Course course;
 }
\ No newline at end of file
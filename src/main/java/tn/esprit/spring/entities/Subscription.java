@@ -6,6 +6,8 @@ import javax.persistence.*;
 import javax.validation.constraints.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -14,14 +16,19 @@ import lombok.experimental.FieldDefaults;
 @NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_subscription_start_date", columnList = "start_date"))
 public class Subscription implements Serializable {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscription_seq")
+	@SequenceGenerator(name = "subscription_seq", sequenceName = "subscription_seq", allocationSize = 50)
 	private Long numSub;
 
 	@NotNull(message = "Start date is required")
 	@FutureOrPresent(message = "Start date must be today or in the future")
+	@Column(name = "start_date")
 	private LocalDate startDate;
 
 	private LocalDate endDate;
@@ -1,16 +1,39 @@
 package tn.esprit.spring.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import tn.esprit.spring.dto.CourseSnapshot;
 import tn.esprit.spring.entities.Course;
 import tn.esprit.spring.entities.TypeCourse;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ICourseRepository extends JpaRepository<Course, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Course> findAll();
+
+    String SELECT_SNAPSHOT = "select new tn.esprit.spring.dto.CourseSnapshot(c.numCourse, c.level, c.price, c.typeCourse, c.support, " +
+            "i.numInstructor, i.firstName, i.lastName, i.dateOfHire) from Course c left join c.instructor i ";
+
+    @Query(SELECT_SNAPSHOT + "order by c.numCourse")
+    List<CourseSnapshot> findAllSnapshots();
+
+    @Query(SELECT_SNAPSHOT + "where c.numCourse > :numCourse order by c.numCourse")
+    List<CourseSnapshot> findSnapshotsAfter(@Param("numCourse") Long numCourse, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_SNAPSHOT + "order by c.numCourse")
+    Stream<CourseSnapshot> streamAllSnapshots();
 
 }
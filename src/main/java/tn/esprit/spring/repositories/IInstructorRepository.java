@@ -1,11 +1,39 @@
 package tn.esprit.spring.repositories;
 
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import tn.esprit.spring.dto.InstructorSnapshot;
 import tn.esprit.spring.entities.Instructor;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 
 public interface IInstructorRepository extends JpaRepository<Instructor, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Instructor> findAll();
+
+    String SELECT_SNAPSHOT = "select new tn.esprit.spring.dto.InstructorSnapshot(i.numInstructor, i.firstName, i.lastName, i.dateOfHire) " +
+            "from Instructor i ";
+
+    @Query(SELECT_SNAPSHOT + "order by i.numInstructor")
+    List<InstructorSnapshot> findAllSnapshots();
+
+    @Query(SELECT_SNAPSHOT + "where i.numInstructor > :numInstructor order by i.numInstructor")
+    List<InstructorSnapshot> findSnapshotsAfter(@Param("numInstructor") Long numInstructor, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_SNAPSHOT + "order by i.numInstructor")
+    Stream<InstructorSnapshot> streamAllSnapshots();
+
 }
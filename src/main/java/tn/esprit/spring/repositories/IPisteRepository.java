@@ -1,9 +1,45 @@
 package tn.esprit.spring.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import tn.esprit.spring.dto.PisteSkier;
+import tn.esprit.spring.dto.PisteSnapshot;
 import tn.esprit.spring.entities.Piste;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 public interface IPisteRepository extends JpaRepository<Piste, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Piste> findAll();
+
+    String SELECT_SNAPSHOT = "select new tn.esprit.spring.dto.PisteSnapshot(p.numPiste, p.namePiste, p.color, p.length, p.slope) " +
+            "from Piste p ";
+
+    @Query(SELECT_SNAPSHOT + "order by p.numPiste")
+    List<PisteSnapshot> findAllSnapshots();
+
+    @Query(SELECT_SNAPSHOT + "where p.numPiste > :numPiste order by p.numPiste")
+    List<PisteSnapshot> findSnapshotsAfter(@Param("numPiste") Long numPiste, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_SNAPSHOT + "order by p.numPiste")
+    Stream<PisteSnapshot> streamAllSnapshots();
+
+    @Query("select new tn.esprit.spring.dto.PisteSkier(p.numPiste, s.numSkier, s.firstName, s.lastName, s.dateOfBirth, s.city, " +
+            "sub.numSub, sub.startDate, sub.endDate, sub.price, sub.typeSub) " +
+            "from Piste p join p.skiers s left join s.subscription sub where p.numPiste in :numPistes order by s.numSkier")
+    List<PisteSkier> findSkiersByPistes(@Param("numPistes") Collection<Long> numPistes);
+
 }
@@ -2,26 +2,49 @@
 package tn.esprit.spring.repositories;
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
 import org.springframework.data.repository.query.Param;
+import tn.esprit.spring.dto.CourseWeekCount;
+import tn.esprit.spring.dto.RegistrationKey;
+import tn.esprit.spring.dto.RegistrationView;
 import tn.esprit.spring.entities.*;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 public interface IRegistrationRepository extends CrudRepository<Registration, Long> {
 
-    long countByCourseAndNumWeek(Course course, int numWeek);
-    @Query("select reg.numWeek from Registration reg " +
-            "join Instructor ins " +
-            "on reg.course member ins.courses " +
-            "where ins.numInstructor = :idIns and reg.course.support = :support")
+    @Query("select new tn.esprit.spring.dto.CourseWeekCount(reg.course.numCourse, reg.numWeek, count(reg)) " +
+            "from Registration reg where reg.course is not null " +
+            "group by reg.course.numCourse, reg.numWeek")
+    List<CourseWeekCount> countGroupByCourseAndNumWeek();
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select distinct reg.numWeek from Registration reg " +
+            "where reg.course.instructor.numInstructor = :idIns and reg.course.support = :support " +
+            "order by reg.numWeek")
     List<Integer> numWeeksCourseOfInstructorBySupport(@Param("idIns") Long numInstructor, @Param("support") Support support);
 
     @Query("select count(distinct r) from Registration r " +
             "where r.numWeek = ?1 and r.skier.numSkier = ?2 and r.course.numCourse = ?3")
     long countDistinctByNumWeekAndSkier_NumSkierAndCourse_NumCourse(int numWeek, Long numSkier, Long numCourse);
 
+    @Query("select new tn.esprit.spring.dto.RegistrationKey(reg.skier.numSkier, reg.course.numCourse, reg.numWeek) " +
+            "from Registration reg " +
+            "where reg.skier.numSkier in :skiers and reg.course.numCourse in :courses and reg.numWeek in :weeks")
+    List<RegistrationKey> findKeysBySkiersAndCoursesAndWeeks(@Param("skiers") Collection<Long> numSkiers,
+                                                             @Param("courses") Collection<Long> numCourses,
+                                                             @Param("weeks") Collection<Integer> numWeeks);
+
+    @Query("select new tn.esprit.spring.dto.RegistrationView(reg.numRegistration, reg.numWeek, reg.skier.numSkier) " +
+            "from Registration reg where reg.skier.numSkier in :numSkiers order by reg.numRegistration")
+    List<RegistrationView> findViewsBySkiers(@Param("numSkiers") Collection<Long> numSkiers);
+
 
 
 
@@ -1,17 +1,63 @@
 package tn.esprit.spring.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import tn.esprit.spring.dto.SkierEligibility;
+import tn.esprit.spring.dto.SkierView;
 import tn.esprit.spring.entities.Skier;
 import tn.esprit.spring.entities.Subscription;
 import tn.esprit.spring.entities.TypeSubscription;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ISkierRepository extends JpaRepository<Skier, Long> {
+
+   String SELECT_VIEW = "select new tn.esprit.spring.dto.SkierView(s.numSkier, s.firstName, s.lastName, s.dateOfBirth, s.city, " +
+           "sub.numSub, sub.startDate, sub.endDate, sub.price, sub.typeSub) from Skier s left join s.subscription sub ";
+
    List<Skier> findBySubscription_TypeSub(TypeSubscription typeSubscription);
    Skier findBySubscription(Subscription subscription);
 
+   @Query(SELECT_VIEW + "where s.numSkier = :numSkier")
+   Optional<SkierView> findViewById(@Param("numSkier") Long numSkier);
+
+   @Query(SELECT_VIEW + "order by s.numSkier")
+   List<SkierView> findAllViews();
+
+   @Query(SELECT_VIEW + "where sub.typeSub = :typeSub order by s.numSkier")
+   List<SkierView> findViewsByTypeSub(@Param("typeSub") TypeSubscription typeSub);
+
+   @Query(SELECT_VIEW + "where s.numSkier > :numSkier order by s.numSkier")
+   List<SkierView> findViewsAfter(@Param("numSkier") Long numSkier, Pageable pageable);
+
+   @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+   @Query(SELECT_VIEW + "order by s.numSkier")
+   Stream<SkierView> streamAllViews();
+
+   @Query("select new tn.esprit.spring.dto.SkierEligibility(s.numSkier, s.dateOfBirth, sub.typeSub, sub.endDate) " +
+           "from Skier s left join s.subscription sub")
+   List<SkierEligibility> findEligibility();
+
+   @Query("select new tn.esprit.spring.dto.SkierEligibility(s.numSkier, s.dateOfBirth, sub.typeSub, sub.endDate) " +
+           "from Skier s left join s.subscription sub where s.numSkier = :numSkier")
+   Optional<SkierEligibility> findEligibilityById(@Param("numSkier") Long numSkier);
+
+   @Query("select new tn.esprit.spring.dto.SkierEligibility(s.numSkier, s.dateOfBirth, sub.typeSub, sub.endDate) " +
+           "from Skier s left join s.subscription sub where s.numSkier in :numSkiers")
+   List<SkierEligibility> findEligibilityByIds(@Param("numSkiers") Collection<Long> numSkiers);
+
+   @Query("select new tn.esprit.spring.dto.SkierEligibility(s.numSkier, s.dateOfBirth, sub.typeSub, sub.endDate) " +
+           "from Skier s join s.subscription sub where sub.numSub = :numSub")
+   List<SkierEligibility> findEligibilityBySubscription(@Param("numSub") Long numSub);
 
 }
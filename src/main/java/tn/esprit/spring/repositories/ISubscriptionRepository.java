@@ -1,24 +1,40 @@
 package tn.esprit.spring.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import tn.esprit.spring.dto.ExpiredSubscription;
+import tn.esprit.spring.dto.RevenueByType;
+import tn.esprit.spring.dto.SubscriptionView;
 import tn.esprit.spring.entities.Subscription;
 import tn.esprit.spring.entities.TypeSubscription;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface ISubscriptionRepository extends JpaRepository<Subscription, Long> {
-    @Query("select s from Subscription s where s.typeSub = :typeS order by s.startDate")
-    Set<Subscription> findByTypeSubOrderByStartDateAsc(@Param("typeS") TypeSubscription typeSub);
+    String SELECT_VIEW = "select new tn.esprit.spring.dto.SubscriptionView(s.numSub, s.startDate, s.endDate, s.price, s.typeSub) " +
+            "from Subscription s ";
 
-    List<Subscription> getSubscriptionsByStartDateBetween(LocalDate date1, LocalDate date2);
+    @Query(SELECT_VIEW + "where s.numSub = :numSub")
+    Optional<SubscriptionView> findViewById(@Param("numSub") Long numSub);
 
-    @Query("select distinct s from Subscription s where s.endDate <= CURRENT_TIME order by s.endDate")
-    List<Subscription> findDistinctOrderByEndDateAsc();
+    @Query(SELECT_VIEW + "where s.typeSub = :typeS order by s.startDate")
+    Set<SubscriptionView> findViewsByTypeSubOrderByStartDateAsc(@Param("typeS") TypeSubscription typeSub);
 
-    @Query("select (sum(s.price))/(count(s)) from Subscription s where s.typeSub = ?1")
-    Float recurringRevenueByTypeSubEquals(TypeSubscription typeSub);
+    @Query(SELECT_VIEW + "where s.startDate between :date1 and :date2")
+    List<SubscriptionView> findViewsByStartDateBetween(@Param("date1") LocalDate date1, @Param("date2") LocalDate date2);
+
+    @Query("select new tn.esprit.spring.dto.ExpiredSubscription(s.numSub, s.endDate, sk.firstName, sk.lastName) " +
+            "from Skier sk join sk.subscription s " +
+            "where s.endDate > :since and s.endDate <= :until order by s.endDate, s.numSub")
+    Slice<ExpiredSubscription> findExpiredBetween(@Param("since") LocalDate since, @Param("until") LocalDate until, Pageable pageable);
+
+    @Query("select new tn.esprit.spring.dto.RevenueByType(s.typeSub, sum(s.price), count(s)) " +
+            "from Subscription s group by s.typeSub")
+    List<RevenueByType> sumAndCountGroupByTypeSub();
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package tn.esprit.spring.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.dto.CourseAvailability;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.repositories.ICourseRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.Mutation;
+import tn.esprit.spring.services.journal.MutationListener;
+import tn.esprit.spring.services.journal.MutationOp;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index of courses by type, support and level. Every course owns a slot; a search ANDs the
+ * bitsets of the requested attributes and checks the seats of each match in the {@link CourseCapacityLedger}
+ * for the requested week, so no query touches the database. Kept current from the mutation journal.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseAvailabilityIndex implements MutationListener {
+
+    private final ICourseRepository courseRepository;
+    private final CourseCapacityLedger capacityLedger;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Map<TypeCourse, BitSet> byType = new EnumMap<>(TypeCourse.class);
+    private final Map<Support, BitSet> bySupport = new EnumMap<>(Support.class);
+    private final Map<Integer, BitSet> byLevel = new HashMap<>();
+    private CourseSnapshot[] courses = new CourseSnapshot[64];
+
+    @PostConstruct
+    public void warmUp() {
+        List<CourseSnapshot> snapshots = courseRepository.findAllSnapshots();
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            live.clear();
+            byType.clear();
+            bySupport.clear();
+            byLevel.clear();
+            Arrays.fill(courses, null);
+            snapshots.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Course availability index warmed with {} courses", snapshots.size());
+    }
+
+    /**
+     * Courses matching every given attribute (null means any) that still have a seat in {@code numWeek},
+     * ordered by id.
+     */
+    public List<CourseAvailability> search(TypeCourse typeCourse, Support support, Integer level, int numWeek) {
+        List<CourseSnapshot> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) live.clone();
+            if (typeCourse != null) {
+                candidates.and(byType.getOrDefault(typeCourse, new BitSet()));
+            }
+            if (support != null) {
+                candidates.and(bySupport.getOrDefault(support, new BitSet()));
+            }
+            if (level != null) {
+                candidates.and(byLevel.getOrDefault(level, new BitSet()));
+            }
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                matches.add(courses[slot]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<CourseAvailability> available = new ArrayList<>(matches.size());
+        for (CourseSnapshot course : matches) {
+            Integer freeSeats = null;
+            if (course.getTypeCourse() != TypeCourse.INDIVIDUAL) {
+                freeSeats = CourseCapacityLedger.COLLECTIVE_COURSE_CAPACITY - capacityLedger.taken(course.getNumCourse(), numWeek);
+                if (freeSeats <= 0) {
+                    continue;
+                }
+            }
+            available.add(new CourseAvailability(course.getNumCourse(), course.getLevel(), course.getPrice(),
+                    course.getTypeCourse(), course.getSupport(), freeSeats));
+        }
+        available.sort(Comparator.comparing(CourseAvailability::getNumCourse));
+        return available;
+    }
+
+    public void put(CourseSnapshot course) {
+        lock.writeLock().lock();
+        try {
+            unindex(course.getNumCourse());
+            index(course);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long numCourse) {
+        lock.writeLock().lock();
+        try {
+            unindex(numCourse);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onMutation(Mutation mutation) {
+        if (mutation.getEntityType() != EntityType.COURSE) {
+            return;
+        }
+        Long numCourse = mutation.getId();
+        if (mutation.getOp() == MutationOp.DELETE) {
+            remove(numCourse);
+            return;
+        }
+        courseRepository.findById(numCourse).map(CourseSnapshot::of)
+                .ifPresentOrElse(this::put, () -> remove(numCourse));
+    }
+
+    @Override
+    public void onOverrun() {
+        warmUp();
+    }
+
+    // Callers hold the write lock
+    private void index(CourseSnapshot course) {
+        int slot = live.nextClearBit(0);
+        if (slot >= courses.length) {
+            courses = Arrays.copyOf(courses, courses.length * 2);
+        }
+        courses[slot] = course;
+        slots.put(course.getNumCourse(), slot);
+        live.set(slot);
+        byType.computeIfAbsent(course.getTypeCourse(), k -> new BitSet()).set(slot);
+        bySupport.computeIfAbsent(course.getSupport(), k -> new BitSet()).set(slot);
+        byLevel.computeIfAbsent(course.getLevel(), k -> new BitSet()).set(slot);
+    }
+
+    private void unindex(Long numCourse) {
+        Integer slot = slots.remove(numCourse);
+        if (slot == null) {
+            return;
+        }
+        CourseSnapshot course = courses[slot];
+        courses[slot] = null;
+        live.clear(slot);
+        byType.get(course.getTypeCourse()).clear(slot);
+        bySupport.get(course.getSupport()).clear(slot);
+        BitSet level = byLevel.get(course.getLevel());
+        level.clear(slot);
+        if (level.isEmpty()) {
+            byLevel.remove(course.getLevel());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package tn.esprit.spring.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tn.esprit.spring.dto.CourseWeekCount;
+import tn.esprit.spring.entities.Registration;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.repositories.IRegistrationRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory seat counter per (course, week), warmed from the registrations table at startup.
+ * Seats are taken with compare-and-set so concurrent collective registrations can never
+ * overbook, and a seat taken inside a transaction is given back if that transaction rolls back.
+ * The ledger is local to this instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseCapacityLedger {
+
+    public static final int COLLECTIVE_COURSE_CAPACITY = 6;
+
+    private static final int WEEK_BITS = 16;
+
+    private final IRegistrationRepository registrationRepository;
+    private final ConcurrentMap<Long, AtomicInteger> seats = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        seats.clear();
+        for (CourseWeekCount count : registrationRepository.countGroupByCourseAndNumWeek()) {
+            if (!validWeek(count.getNumWeek())) {
+                log.warn("Ignoring {} registrations of course {} in invalid week {}", count.getTotal(), count.getNumCourse(), count.getNumWeek());
+                continue;
+            }
+            seats.put(key(count.getNumCourse(), count.getNumWeek()), new AtomicInteger(count.getTotal().intValue()));
+        }
+        log.info("Course capacity ledger warmed with {} course-week entries", seats.size());
+    }
+
+    /**
+     * Takes one seat if the course still has room that week.
+     * Outside of a transaction the caller is responsible for calling {@link #release} on failure.
+     */
+    public boolean tryReserve(Long numCourse, int numWeek) {
+        if (!validWeek(numWeek)) {
+            return false;
+        }
+        AtomicInteger taken = counter(numCourse, numWeek);
+        int current;
+        do {
+            current = taken.get();
+            if (current >= COLLECTIVE_COURSE_CAPACITY) {
+                return false;
+            }
+        } while (!taken.compareAndSet(current, current + 1));
+        releaseOnRollback(numCourse, numWeek);
+        return true;
+    }
+
+    /**
+     * Takes a seat for a registration in a course of this type: collective courses only while they have room,
+     * individual courses without a limit. Returns false when the course-week is full or the week is invalid.
+     */
+    public boolean reserve(TypeCourse typeCourse, Long numCourse, int numWeek) {
+        if (typeCourse != TypeCourse.INDIVIDUAL) {
+            return tryReserve(numCourse, numWeek);
+        }
+        if (!validWeek(numWeek)) {
+            return false;
+        }
+        record(numCourse, numWeek);
+        return true;
+    }
+
+    /**
+     * Counts a registration that was admitted without a capacity check (individual courses, direct assignment).
+     * Throws {@link IllegalArgumentException} for a week outside the season calendar.
+     */
+    public void record(Long numCourse, int numWeek) {
+        counter(numCourse, numWeek).incrementAndGet();
+        releaseOnRollback(numCourse, numWeek);
+    }
+
+    public void release(Long numCourse, int numWeek) {
+        if (!validWeek(numWeek)) {
+            return;
+        }
+        AtomicInteger taken = seats.get(key(numCourse, numWeek));
+        if (taken != null) {
+            taken.updateAndGet(current -> current > 0 ? current - 1 : 0);
+        }
+    }
+
+    /**
+     * Gives a seat back once the surrounding transaction commits, so a rollback leaves the seat taken.
+     */
+    public void releaseAfterCommit(Long numCourse, int numWeek) {
+        AfterCommit.run(() -> release(numCourse, numWeek));
+    }
+
+    public int taken(Long numCourse, int numWeek) {
+        if (!validWeek(numWeek)) {
+            return 0;
+        }
+        AtomicInteger taken = seats.get(key(numCourse, numWeek));
+        return taken == null ? 0 : taken.get();
+    }
+
+    public boolean isFull(Long numCourse, int numWeek) {
+        return taken(numCourse, numWeek) >= COLLECTIVE_COURSE_CAPACITY;
+    }
+
+    public void forgetCourse(Long numCourse) {
+        seats.keySet().removeIf(key -> (key >> WEEK_BITS) == numCourse);
+    }
+
+    private AtomicInteger counter(Long numCourse, int numWeek) {
+        return seats.computeIfAbsent(key(numCourse, numWeek), k -> new AtomicInteger());
+    }
+
+    private void releaseOnRollback(Long numCourse, int numWeek) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(numCourse, numWeek);
+                }
+            }
+        });
+    }
+
+    // Weeks are checked against the season calendar so two weeks can never share a key
+    private static long key(Long numCourse, int numWeek) {
+        if (!validWeek(numWeek)) {
+            throw new IllegalArgumentException("Week " + numWeek + " is outside " + Registration.MIN_WEEK + ".." + Registration.MAX_WEEK);
+        }
+        return (numCourse << WEEK_BITS) | numWeek;
+    }
+
+    private static boolean validWeek(int numWeek) {
+        return numWeek >= Registration.MIN_WEEK && numWeek <= Registration.MAX_WEEK;
+    }
+}
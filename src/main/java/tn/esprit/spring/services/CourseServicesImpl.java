@@ -4,11 +4,23 @@ import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.dto.CourseAvailability;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.KeysetPage;
 import tn.esprit.spring.entities.Course;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
 import tn.esprit.spring.repositories.ICourseRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+import tn.esprit.spring.services.journal.MutationOp;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 @Service
@@ -16,32 +28,39 @@ public class CourseServicesImpl implements ICourseServices {
 
     @Autowired
     private ICourseRepository courseRepository;
+    private CourseCapacityLedger capacityLedger;
+    private ReferenceDataCache referenceDataCache;
+    private CourseAvailabilityIndex availabilityIndex;
+    private MutationJournal mutationJournal;
     private static final Logger logger = LoggerFactory.getLogger(CourseServicesImpl.class);
 
     @Override
-    public List<Course> retrieveAllCourses() {
-        logger.info("Retrieving all courses");
-        List<Course> courses = courseRepository.findAll();
-        logger.info("Found {} courses", courses.size());
+    @Transactional(readOnly = true)
+    public List<CourseSnapshot> retrieveAllCourses() {
+        logger.debug("Retrieving all courses");
+        List<CourseSnapshot> courses = courseRepository.findAllSnapshots();
+        logger.debug("Found {} courses", courses.size());
         return courses;
     }
 
     @Override
     public Course addCourse(Course course) {
-        logger.info("Attempting to add course: {}", course);
         Course savedCourse = courseRepository.save(course);
-        logger.info("Course added successfully: {}", savedCourse);
+        mutationJournal.append(EntityType.COURSE, MutationOp.CREATE, savedCourse.getNumCourse());
+        logger.info("Course {} added", savedCourse.getNumCourse());
         return savedCourse;
     }
 
     @Override
     public Course updateCourse(Course course) {
-        logger.info("Attempting to update course: {}", course);
+        logger.debug("Attempting to update course {}", course.getNumCourse());
 
         return courseRepository.findById(course.getNumCourse())
                 .map(existingCourse -> {
                     Course updatedCourse = courseRepository.save(course);
-                    logger.info("Course updated successfully: {}", updatedCourse);
+                    referenceDataCache.evictCourse(updatedCourse.getNumCourse());
+                    mutationJournal.append(EntityType.COURSE, MutationOp.UPDATE, updatedCourse.getNumCourse());
+                    logger.info("Course {} updated", updatedCourse.getNumCourse());
                     return updatedCourse;
                 })
                 .orElseGet(() -> {
@@ -52,30 +71,50 @@ public class CourseServicesImpl implements ICourseServices {
 
 
     @Override
-    public Course retrieveCourse(Long numCourse) {
-        logger.info("Retrieving course with ID: {}", numCourse);
+    public CourseSnapshot retrieveCourse(Long numCourse) {
+        logger.debug("Retrieving course with ID: {}", numCourse);
 
-        return courseRepository.findById(numCourse)
-                .map(course -> {
-                    logger.info("Course retrieved successfully: {}", course);
-                    return course;
-                })
-                .orElseGet(() -> {
-                    logger.warn("Course with ID {} not found", numCourse);
-                    return null;
-                });
+        CourseSnapshot course = referenceDataCache.course(numCourse);
+        if (course == null) {
+            logger.warn("Course with ID {} not found", numCourse);
+            return null;
+        }
+        return course;
     }
 
     @Override
     public void deleteCourse(Long numCourse) {
-        logger.info("Attempting to delete course with ID: {}", numCourse);
+        logger.debug("Attempting to delete course with ID: {}", numCourse);
 
         if (courseRepository.existsById(numCourse)) {
             courseRepository.deleteById(numCourse);
+            capacityLedger.forgetCourse(numCourse);
+            referenceDataCache.evictCourse(numCourse);
+            mutationJournal.append(EntityType.COURSE, MutationOp.DELETE, numCourse);
             logger.info("Course with ID {} deleted successfully", numCourse);
         } else {
             logger.warn("Course with ID {} not found, deletion failed", numCourse);
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<CourseSnapshot> retrieveCoursesPage(String cursor, int size) {
+        int limit = KeysetCursor.clampSize(size);
+        List<CourseSnapshot> courses = courseRepository.findSnapshotsAfter(KeysetCursor.decode(cursor), PageRequest.of(0, limit));
+        return KeysetCursor.page(courses, limit, CourseSnapshot::getNumCourse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCourses(Consumer<CourseSnapshot> consumer) {
+        try (Stream<CourseSnapshot> courses = courseRepository.streamAllSnapshots()) {
+            courses.forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<CourseAvailability> searchAvailableCourses(TypeCourse typeCourse, Support support, Integer level, int numWeek) {
+        return availabilityIndex.search(typeCourse, support, level, numWeek);
+    }
 }
\ No newline at end of file
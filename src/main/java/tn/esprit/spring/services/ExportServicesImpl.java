@@ -0,0 +1,116 @@
+package tn.esprit.spring.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.dto.RowFormat;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accounting exports. Filters are pushed into the SQL and rows are read through a forward-only cursor
+ * with a bounded fetch size, then written out one at a time, so no result list is ever materialized.
+ */
+@Slf4j
+@Service
+public class ExportServicesImpl implements IExportServices {
+
+    private static final String[] SUBSCRIPTION_COLUMNS = {"numSub", "typeSub", "startDate", "endDate", "price", "numSkier"};
+    private static final String SUBSCRIPTION_SELECT =
+            "select s.num_sub, s.type_sub, s.start_date, s.end_date, s.price, sk.num_skier"
+                    + " from subscription s left join skier sk on sk.subscription_num_sub = s.num_sub where 1 = 1";
+
+    private static final String[] REGISTRATION_COLUMNS =
+            {"numRegistration", "numWeek", "numSkier", "firstName", "lastName", "numCourse", "typeCourse", "support", "price"};
+    private static final String REGISTRATION_SELECT =
+            "select r.num_registration, r.num_week, sk.num_skier, sk.first_name, sk.last_name,"
+                    + " c.num_course, c.type_course, c.support, c.price"
+                    + " from registration r join skier sk on sk.num_skier = r.skier_num_skier"
+                    + " join course c on c.num_course = r.course_num_course where 1 = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    // MySQL only streams with useCursorFetch=true on the JDBC URL; otherwise it buffers the whole result
+    public ExportServicesImpl(DataSource dataSource, ObjectMapper objectMapper,
+                              @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportSubscriptions(LocalDate from, LocalDate to, TypeSubscription typeSub, RowFormat format,
+                                    OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(SUBSCRIPTION_SELECT);
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" and s.start_date >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" and s.start_date <= ?");
+            args.add(to);
+        }
+        if (typeSub != null) {
+            sql.append(" and s.type_sub = ?");
+            args.add(typeSub.name());
+        }
+        sql.append(" order by s.num_sub");
+        long rows = stream(sql.toString(), args, SUBSCRIPTION_COLUMNS, format, out);
+        log.info("Exported {} subscriptions ({} to {}, type {})", rows, from, to, typeSub);
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportRegistrations(Integer fromWeek, Integer toWeek, TypeCourse typeCourse, Support support,
+                                    RowFormat format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(REGISTRATION_SELECT);
+        List<Object> args = new ArrayList<>();
+        if (fromWeek != null) {
+            sql.append(" and r.num_week >= ?");
+            args.add(fromWeek);
+        }
+        if (toWeek != null) {
+            sql.append(" and r.num_week <= ?");
+            args.add(toWeek);
+        }
+        if (typeCourse != null) {
+            sql.append(" and c.type_course = ?");
+            args.add(typeCourse.name());
+        }
+        if (support != null) {
+            sql.append(" and c.support = ?");
+            args.add(support.name());
+        }
+        sql.append(" order by r.num_registration");
+        long rows = stream(sql.toString(), args, REGISTRATION_COLUMNS, format, out);
+        log.info("Exported {} registrations (weeks {} to {}, {} {})", rows, fromWeek, toWeek, typeCourse, support);
+        return rows;
+    }
+
+    private long stream(String sql, List<Object> args, String[] columns, RowFormat format, OutputStream out) throws IOException {
+        try (RowStreamWriter writer = RowStreamWriter.open(format, objectMapper, csvMapper, columns, out)) {
+            jdbcTemplate.query(sql, writer, args.toArray());
+            return writer.rows();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package tn.esprit.spring.services;
 
+import tn.esprit.spring.dto.CourseAvailability;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.KeysetPage;
 import tn.esprit.spring.entities.Course;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ICourseServices {
 
-    List<Course> retrieveAllCourses();
+    List<CourseSnapshot> retrieveAllCourses();
 
     Course  addCourse(Course  course);
 
     Course updateCourse(Course course);
 
-    Course retrieveCourse(Long numCourse);
+    CourseSnapshot retrieveCourse(Long numCourse);
 
 
     void deleteCourse(Long numCourse);
+
+    KeysetPage<CourseSnapshot> retrieveCoursesPage(String cursor, int size);
+
+    void streamAllCourses(Consumer<CourseSnapshot> consumer);
+
+    List<CourseAvailability> searchAvailableCourses(TypeCourse typeCourse, Support support, Integer level, int numWeek);
 }
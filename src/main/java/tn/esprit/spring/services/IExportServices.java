@@ -0,0 +1,17 @@
+package tn.esprit.spring.services;
+
+import tn.esprit.spring.dto.RowFormat;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface IExportServices {
+
+    long exportSubscriptions(LocalDate from, LocalDate to, TypeSubscription typeSub, RowFormat format, OutputStream out) throws IOException;
+
+    long exportRegistrations(Integer fromWeek, Integer toWeek, TypeCourse typeCourse, Support support, RowFormat format, OutputStream out) throws IOException;
+}
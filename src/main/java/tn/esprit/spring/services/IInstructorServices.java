@@ -1,20 +1,27 @@
 package tn.esprit.spring.services;
 
+import tn.esprit.spring.dto.InstructorSnapshot;
+import tn.esprit.spring.dto.KeysetPage;
 import tn.esprit.spring.entities.Instructor;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IInstructorServices {
 
     Instructor addInstructor(Instructor instructor);
 
-    List<Instructor> retrieveAllInstructors();
+    List<InstructorSnapshot> retrieveAllInstructors();
 
     Instructor updateInstructor(Instructor instructor);
 
-    Instructor retrieveInstructor(Long numInstructor);
+    InstructorSnapshot retrieveInstructor(Long numInstructor);
 
     Instructor addInstructorAndAssignToCourse(Instructor instructor, Long numCourse);
 
     void deleteInstructor(Long numInstructor);
+
+    KeysetPage<InstructorSnapshot> retrieveInstructorsPage(String cursor, int size);
+
+    void streamAllInstructors(Consumer<InstructorSnapshot> consumer);
 }
@@ -1,16 +1,23 @@
 package tn.esprit.spring.services;
 
+import tn.esprit.spring.dto.KeysetPage;
+import tn.esprit.spring.dto.PisteView;
 import tn.esprit.spring.entities.Piste;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IPisteServices {
 
-    List<Piste> retrieveAllPistes();
+    List<PisteView> retrieveAllPistes();
 
     Piste  addPiste(Piste  piste);
 
     void removePiste (Long numPiste);
 
-    Piste retrievePiste (Long numPiste);
+    PisteView retrievePiste (Long numPiste);
+
+    KeysetPage<PisteView> retrievePistesPage(String cursor, int size);
+
+    void streamAllPistes(Consumer<PisteView> consumer);
 }
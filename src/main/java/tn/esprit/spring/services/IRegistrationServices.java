@@ -1,14 +1,23 @@
 package tn.esprit.spring.services;
 
+import tn.esprit.spring.dto.InstructorWeekLoad;
+import tn.esprit.spring.dto.RegistrationOutcome;
+import tn.esprit.spring.dto.RegistrationRequest;
 import tn.esprit.spring.entities.*;
 
 import java.util.List;
 
 public interface IRegistrationServices {
 
+	// Bounds the IN lists of the duplicate lookup and the size of one transaction
+	int MAX_BATCH_SIZE = 500;
+
 	Registration addRegistrationAndAssignToSkier(Registration registration, Long numSkier);
 	Registration assignRegistrationToCourse(Long numRegistration, Long numCourse);
 	Registration addRegistrationAndAssignToSkierAndCourse(Registration registration, Long numSkieur, Long numCours);
+	List<RegistrationOutcome> addRegistrationsInBatch(List<RegistrationRequest> requests);
 	List<Integer> numWeeksCourseOfInstructorBySupport(Long numInstructor, Support support);
+	List<InstructorWeekLoad> instructorSchedule(Long numInstructor);
+	List<InstructorWeekLoad> instructorSchedules();
 }
 
@@ -1,27 +1,38 @@
 package tn.esprit.spring.services;
 
+import tn.esprit.spring.dto.KeysetPage;
+import tn.esprit.spring.dto.PassValidity;
+import tn.esprit.spring.dto.SkierView;
 import tn.esprit.spring.entities.Skier;
 import tn.esprit.spring.entities.TypeSubscription;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ISkierServices {
 
-	List<Skier> retrieveAllSkiers();
+	List<SkierView> retrieveAllSkiers();
 
 	Skier  addSkier(Skier  skier);
 
+	int addSkiersInBatch(List<Skier> skiers);
+
 	Skier assignSkierToSubscription(Long numSkier, Long numSubscription);
 
 	Skier addSkierAndAssignToCourse(Skier skier, Long numCourse);
 
 	void removeSkier (Long numSkier);
 
-	Skier retrieveSkier (Long numSkier);
+	SkierView retrieveSkier (Long numSkier);
 
 
 	Skier assignSkierToPiste(Long numSkieur, Long numPiste);
 
-	List<Skier> retrieveSkiersBySubscriptionType(TypeSubscription typeSubscription);
+	List<SkierView> retrieveSkiersBySubscriptionType(TypeSubscription typeSubscription);
+
+	PassValidity checkPass(Long numSkier);
+
+	KeysetPage<SkierView> retrieveSkiersPage(String cursor, int size);
 
+	void streamAllSkiers(Consumer<SkierView> consumer);
 }
@@ -1,5 +1,7 @@
 package tn.esprit.spring.services;
 
+import tn.esprit.spring.dto.MonthlyRecurringRevenue;
+import tn.esprit.spring.dto.SubscriptionView;
 import tn.esprit.spring.entities.Subscription;
 import tn.esprit.spring.entities.TypeSubscription;
 
@@ -10,8 +12,9 @@ import java.util.Set;
 public interface ISubscriptionServices {
 	Subscription addSubscription(Subscription subscription);
 	Subscription updateSubscription(Subscription subscription);
-	Subscription retrieveSubscriptionById(Long numSubscription);
-	Set<Subscription> getSubscriptionByType(TypeSubscription type);
-	List<Subscription> retrieveSubscriptionsByDates(LocalDate startDate, LocalDate endDate);
+	SubscriptionView retrieveSubscriptionById(Long numSubscription);
+	Set<SubscriptionView> getSubscriptionByType(TypeSubscription type);
+	List<SubscriptionView> retrieveSubscriptionsByDates(LocalDate startDate, LocalDate endDate);
 	void retrieveSubscriptions();
+	MonthlyRecurringRevenue getMonthlyRecurringRevenue();
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+package tn.esprit.spring.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.CourseWeekCount;
+import tn.esprit.spring.dto.InstructorWeekLoad;
+import tn.esprit.spring.entities.Registration;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.repositories.ICourseRepository;
+import tn.esprit.spring.repositories.IRegistrationRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.Mutation;
+import tn.esprit.spring.services.journal.MutationListener;
+import tn.esprit.spring.services.journal.MutationOp;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Materialized (instructor, support, week) to registration count view. Registration services apply their
+ * changes after commit; course reassignments move the course's week counts from one instructor to the other.
+ * Course updates and deletions are picked up from the mutation journal.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InstructorScheduleView implements MutationListener {
+
+    private final ICourseRepository courseRepository;
+    private final IRegistrationRepository registrationRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, CourseWeeks> courses = new HashMap<>();
+    private final Map<Long, Map<Support, int[]>> instructors = new HashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        List<CourseSnapshot> snapshots = courseRepository.findAllSnapshots();
+        List<CourseWeekCount> counts = registrationRepository.countGroupByCourseAndNumWeek();
+        lock.writeLock().lock();
+        try {
+            courses.clear();
+            instructors.clear();
+            for (CourseSnapshot course : snapshots) {
+                courses.put(course.getNumCourse(), new CourseWeeks(numInstructor(course), course.getSupport()));
+            }
+            for (CourseWeekCount count : counts) {
+                CourseWeeks course = courses.get(count.getNumCourse());
+                if (course != null) {
+                    add(course, count.getNumWeek(), count.getTotal().intValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Instructor schedule view warmed with {} courses", snapshots.size());
+    }
+
+    public void registered(Long numCourse, int numWeek) {
+        AfterCommit.run(() -> change(numCourse, numWeek, 1));
+    }
+
+    public void unregistered(Long numCourse, int numWeek) {
+        AfterCommit.run(() -> change(numCourse, numWeek, -1));
+    }
+
+    public void courseAssigned(Long numCourse, Long numInstructor, Support support) {
+        AfterCommit.run(() -> reassign(numCourse, numInstructor, support));
+    }
+
+    public void forgetCourse(Long numCourse) {
+        lock.writeLock().lock();
+        try {
+            CourseWeeks course = courses.remove(numCourse);
+            if (course != null) {
+                moveWeeks(course, -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Weeks in which the instructor has at least one registration on a course of that support, in order.
+     */
+    public List<Integer> busyWeeks(Long numInstructor, Support support) {
+        lock.readLock().lock();
+        try {
+            int[] weeks = instructors.getOrDefault(numInstructor, Collections.emptyMap()).get(support);
+            List<Integer> busy = new ArrayList<>();
+            if (weeks != null) {
+                for (int week = 0; week < weeks.length; week++) {
+                    if (weeks[week] > 0) {
+                        busy.add(week);
+                    }
+                }
+            }
+            return busy;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<InstructorWeekLoad> schedule(Long numInstructor) {
+        lock.readLock().lock();
+        try {
+            List<InstructorWeekLoad> loads = new ArrayList<>();
+            collect(numInstructor, instructors.getOrDefault(numInstructor, Collections.emptyMap()), loads);
+            return loads;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<InstructorWeekLoad> schedules() {
+        lock.readLock().lock();
+        try {
+            List<InstructorWeekLoad> loads = new ArrayList<>();
+            new TreeMap<>(instructors).forEach((numInstructor, supports) -> collect(numInstructor, supports, loads));
+            return loads;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onMutation(Mutation mutation) {
+        if (mutation.getEntityType() != EntityType.COURSE) {
+            return;
+        }
+        Long numCourse = mutation.getId();
+        if (mutation.getOp() == MutationOp.DELETE) {
+            forgetCourse(numCourse);
+        } else if (mutation.getOp() == MutationOp.UPDATE) {
+            courseRepository.findById(numCourse).map(CourseSnapshot::of)
+                    .ifPresent(course -> reassign(numCourse, numInstructor(course), course.getSupport()));
+        }
+    }
+
+    @Override
+    public void onOverrun() {
+        warmUp();
+    }
+
+    private void change(Long numCourse, int numWeek, int delta) {
+        if (!validWeek(numWeek)) {
+            return;
+        }
+        boolean known;
+        lock.readLock().lock();
+        try {
+            known = courses.containsKey(numCourse);
+        } finally {
+            lock.readLock().unlock();
+        }
+        // A course created after warm-up is resolved once, outside the lock
+        CourseSnapshot snapshot = known ? null : referenceDataCache.course(numCourse);
+        lock.writeLock().lock();
+        try {
+            CourseWeeks course = courses.get(numCourse);
+            if (course == null) {
+                if (snapshot == null) {
+                    return;
+                }
+                course = new CourseWeeks(numInstructor(snapshot), snapshot.getSupport());
+                courses.put(numCourse, course);
+            }
+            add(course, numWeek, delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reassign(Long numCourse, Long numInstructor, Support support) {
+        lock.writeLock().lock();
+        try {
+            CourseWeeks course = courses.computeIfAbsent(numCourse, k -> new CourseWeeks(numInstructor, support));
+            if (Objects.equals(course.numInstructor, numInstructor) && course.support == support) {
+                return;
+            }
+            moveWeeks(course, -1);
+            course.numInstructor = numInstructor;
+            course.support = support;
+            moveWeeks(course, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void add(CourseWeeks course, int numWeek, int delta) {
+        // Rows written before weeks were validated must not size the arrays
+        if (!validWeek(numWeek)) {
+            return;
+        }
+        if (numWeek >= course.weeks.length) {
+            course.weeks = Arrays.copyOf(course.weeks, Registration.MAX_WEEK + 1);
+        }
+        course.weeks[numWeek] = Math.max(0, course.weeks[numWeek] + delta);
+        if (course.numInstructor != null) {
+            int[] weeks = instructorWeeks(course.numInstructor, course.support, numWeek);
+            weeks[numWeek] = Math.max(0, weeks[numWeek] + delta);
+        }
+    }
+
+    private void moveWeeks(CourseWeeks course, int sign) {
+        if (course.numInstructor == null) {
+            return;
+        }
+        for (int week = 0; week < course.weeks.length; week++) {
+            if (course.weeks[week] > 0) {
+                int[] weeks = instructorWeeks(course.numInstructor, course.support, week);
+                weeks[week] = Math.max(0, weeks[week] + sign * course.weeks[week]);
+            }
+        }
+    }
+
+    private int[] instructorWeeks(Long numInstructor, Support support, int numWeek) {
+        Map<Support, int[]> supports = instructors.computeIfAbsent(numInstructor, k -> new EnumMap<>(Support.class));
+        int[] weeks = supports.getOrDefault(support, new int[0]);
+        if (numWeek >= weeks.length) {
+            weeks = Arrays.copyOf(weeks, Registration.MAX_WEEK + 1);
+        }
+        supports.put(support, weeks);
+        return weeks;
+    }
+
+    private static void collect(Long numInstructor, Map<Support, int[]> supports, List<InstructorWeekLoad> loads) {
+        supports.forEach((support, weeks) -> {
+            for (int week = 0; week < weeks.length; week++) {
+                if (weeks[week] > 0) {
+                    loads.add(new InstructorWeekLoad(numInstructor, support, week, weeks[week]));
+                }
+            }
+        });
+    }
+
+    private static boolean validWeek(int numWeek) {
+        return numWeek >= Registration.MIN_WEEK && numWeek <= Registration.MAX_WEEK;
+    }
+
+    private static Long numInstructor(CourseSnapshot course) {
+        return course.getInstructor() == null ? null : course.getInstructor().getNumInstructor();
+    }
+
+    private static final class CourseWeeks {
+        Long numInstructor;
+        Support support;
+        int[] weeks = new int[0];
+
+        CourseWeeks(Long numInstructor, Support support) {
+            this.numInstructor = numInstructor;
+            this.support = support;
+        }
+    }
+}
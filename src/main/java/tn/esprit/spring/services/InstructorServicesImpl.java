@@ -3,16 +3,25 @@ package tn.esprit.spring.services;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.dto.InstructorSnapshot;
+import tn.esprit.spring.dto.KeysetPage;
 import tn.esprit.spring.entities.Course;
 import tn.esprit.spring.entities.Instructor;
 import tn.esprit.spring.repositories.ICourseRepository;
 import tn.esprit.spring.repositories.IInstructorRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+import tn.esprit.spring.services.journal.MutationOp;
 
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 @AllArgsConstructor
@@ -21,32 +30,39 @@ public class InstructorServicesImpl implements IInstructorServices{
 
     private IInstructorRepository instructorRepository;
     private ICourseRepository courseRepository;
+    private ReferenceDataCache referenceDataCache;
+    private InstructorScheduleView scheduleView;
+    private MutationJournal mutationJournal;
     private static final Logger logger = LoggerFactory.getLogger(InstructorServicesImpl.class);
 
     @Override
     public Instructor addInstructor(Instructor instructor) {
-        logger.info("Adding new instructor: {}", instructor);
         Instructor savedInstructor = instructorRepository.save(instructor);
-        logger.info("Instructor added successfully: {}", savedInstructor);
+        mutationJournal.append(EntityType.INSTRUCTOR, MutationOp.CREATE, savedInstructor.getNumInstructor());
+        logger.info("Instructor {} added", savedInstructor.getNumInstructor());
         return savedInstructor;
     }
 
     @Override
-    public List<Instructor> retrieveAllInstructors() {
-        logger.info("Retrieving all instructors...");
-        List<Instructor> instructors = instructorRepository.findAll();
-        logger.info("Total instructors retrieved: {}", instructors.size());
+    @Transactional(readOnly = true)
+    public List<InstructorSnapshot> retrieveAllInstructors() {
+        logger.debug("Retrieving all instructors...");
+        List<InstructorSnapshot> instructors = instructorRepository.findAllSnapshots();
+        logger.debug("Total instructors retrieved: {}", instructors.size());
         return instructors;
     }
 
     @Override
     public Instructor updateInstructor(Instructor instructor) {
-        logger.info("Attempting to update instructor with ID: {}", instructor.getNumInstructor());
+        logger.debug("Attempting to update instructor with ID: {}", instructor.getNumInstructor());
 
         return instructorRepository.findById(instructor.getNumInstructor())
                 .map(existingInstructor -> {
                     Instructor updatedInstructor = instructorRepository.save(instructor);
-                    logger.info("Instructor updated successfully: {}", updatedInstructor);
+                    referenceDataCache.evictInstructor(updatedInstructor.getNumInstructor());
+                    referenceDataCache.evictAllCourses();
+                    mutationJournal.append(EntityType.INSTRUCTOR, MutationOp.UPDATE, updatedInstructor.getNumInstructor());
+                    logger.info("Instructor {} updated", updatedInstructor.getNumInstructor());
                     return updatedInstructor;
                 })
                 .orElseGet(() -> {
@@ -56,18 +72,15 @@ public class InstructorServicesImpl implements IInstructorServices{
     }
 
     @Override
-    public Instructor retrieveInstructor(Long numInstructor) {
-        logger.info("Retrieving instructor with ID: {}", numInstructor);
+    public InstructorSnapshot retrieveInstructor(Long numInstructor) {
+        logger.debug("Retrieving instructor with ID: {}", numInstructor);
 
-        return instructorRepository.findById(numInstructor)
-                .map(instructor -> {
-                    logger.info("Instructor retrieved successfully: {}", instructor);
-                    return instructor;
-                })
-                .orElseGet(() -> {
-                    logger.warn("Instructor with ID {} not found", numInstructor);
-                    return null;
-                });
+        InstructorSnapshot instructor = referenceDataCache.instructor(numInstructor);
+        if (instructor == null) {
+            logger.warn("Instructor with ID {} not found", numInstructor);
+            return null;
+        }
+        return instructor;
     }
     @Override
     public Instructor addInstructorAndAssignToCourse(Instructor instructor, Long numCourse) {
@@ -93,20 +106,40 @@ public class InstructorServicesImpl implements IInstructorServices{
 
         // Save course with updated relationship
         courseRepository.save(course);
+        referenceDataCache.evictCourse(numCourse);
+        scheduleView.courseAssigned(numCourse, savedInstructor.getNumInstructor(), course.getSupport());
+        mutationJournal.append(EntityType.INSTRUCTOR, MutationOp.CREATE, savedInstructor.getNumInstructor());
+        mutationJournal.append(EntityType.COURSE, MutationOp.UPDATE, numCourse);
 
-        logger.info("Instructor assigned to course successfully");
+        logger.info("Instructor {} assigned to course {}", savedInstructor.getNumInstructor(), numCourse);
         return savedInstructor;
     }
     @Override
     public void deleteInstructor(Long numInstructor) {
         if (instructorRepository.existsById(numInstructor)) {
             instructorRepository.deleteById(numInstructor);
+            referenceDataCache.evictInstructor(numInstructor);
+            referenceDataCache.evictAllCourses();
+            mutationJournal.append(EntityType.INSTRUCTOR, MutationOp.DELETE, numInstructor);
             logger.info("Instructor with ID {} deleted successfully", numInstructor);
         } else {
             logger.warn("Instructor with ID {} not found, deletion failed", numInstructor);
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<InstructorSnapshot> retrieveInstructorsPage(String cursor, int size) {
+        int limit = KeysetCursor.clampSize(size);
+        List<InstructorSnapshot> instructors = instructorRepository.findSnapshotsAfter(KeysetCursor.decode(cursor), PageRequest.of(0, limit));
+        return KeysetCursor.page(instructors, limit, InstructorSnapshot::getNumInstructor);
+    }
 
-
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllInstructors(Consumer<InstructorSnapshot> consumer) {
+        try (Stream<InstructorSnapshot> instructors = instructorRepository.streamAllSnapshots()) {
+            instructors.forEach(consumer);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package tn.esprit.spring.services;
+
+import tn.esprit.spring.dto.KeysetPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque seek-by-id cursor: the token wraps the id of the last row of the previous page.
+ */
+public final class KeysetCursor {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private KeysetCursor() {
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    public static <T> KeysetPage<T> page(List<T> items, int size, Function<T, Long> idOf) {
+        String nextCursor = items.size() < size ? null : encode(idOf.apply(items.get(items.size() - 1)));
+        return new KeysetPage<>(items, nextCursor);
+    }
+}
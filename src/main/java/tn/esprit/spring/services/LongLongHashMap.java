@@ -0,0 +1,174 @@
+package tn.esprit.spring.services;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing (linear probing) map from positive long keys to long values, stored interleaved in
+ * one primitive array. Writers take the write lock; readers run on an optimistic stamp and only fall
+ * back to the read lock when a write overlapped, so lookups neither allocate nor block each other.
+ */
+final class LongLongHashMap {
+
+    private static final long FREE = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+    // key at 2 * slot, value at 2 * slot + 1
+    private long[] table = new long[2 * MIN_CAPACITY];
+    private int size;
+
+    long get(long key, long missing) {
+        if (key <= 0) {
+            return missing;
+        }
+        long stamp = lock.tryOptimisticRead();
+        long[] current = table;
+        int index = indexOf(current, key);
+        long value = index < 0 ? missing : current[index + 1];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                index = indexOf(table, key);
+                value = index < 0 ? missing : table[index + 1];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    boolean containsKey(long key) {
+        if (key <= 0) {
+            return false;
+        }
+        long stamp = lock.tryOptimisticRead();
+        boolean found = indexOf(table, key) >= 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = indexOf(table, key) >= 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    void put(long key, long value) {
+        checkKey(key);
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 8L > table.length * 3L) {
+                grow();
+            }
+            int mask = capacity(table) - 1;
+            int slot = slot(key, mask);
+            while (table[2 * slot] != FREE && table[2 * slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (table[2 * slot] == FREE) {
+                size++;
+            }
+            table[2 * slot + 1] = value;
+            table[2 * slot] = key;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void remove(long key) {
+        checkKey(key);
+        long stamp = lock.writeLock();
+        try {
+            int index = indexOf(table, key);
+            if (index < 0) {
+                return;
+            }
+            size--;
+            // Backward-shift the rest of the probe chain so later lookups do not stop at the hole
+            int mask = capacity(table) - 1;
+            int hole = index / 2;
+            for (int next = (hole + 1) & mask; table[2 * next] != FREE; next = (next + 1) & mask) {
+                int home = slot(table[2 * next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    table[2 * hole] = table[2 * next];
+                    table[2 * hole + 1] = table[2 * next + 1];
+                    hole = next;
+                }
+            }
+            table[2 * hole] = FREE;
+            table[2 * hole + 1] = 0L;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void clear() {
+        long stamp = lock.writeLock();
+        try {
+            table = new long[2 * MIN_CAPACITY];
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Index of the key in the table, or -1. The key must be positive: 0 is the FREE marker of an empty slot. Bounded by the capacity, so an optimistic read racing a writer terminates.
+    private static int indexOf(long[] table, long key) {
+        int capacity = capacity(table);
+        int mask = capacity - 1;
+        int slot = slot(key, mask);
+        for (int probes = 0; probes < capacity; probes++) {
+            long candidate = table[2 * slot];
+            if (candidate == key) {
+                return 2 * slot;
+            }
+            if (candidate == FREE) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void grow() {
+        long[] old = table;
+        long[] resized = new long[4 * capacity(old)];
+        int mask = capacity(resized) - 1;
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != FREE) {
+                int slot = slot(old[i], mask);
+                while (resized[2 * slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                resized[2 * slot] = old[i];
+                resized[2 * slot + 1] = old[i + 1];
+            }
+        }
+        table = resized;
+    }
+
+    private static int capacity(long[] table) {
+        return table.length / 2;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static void checkKey(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+    }
+}
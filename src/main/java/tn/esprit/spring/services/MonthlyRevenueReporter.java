@@ -0,0 +1,40 @@
+package tn.esprit.spring.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.Mutation;
+import tn.esprit.spring.services.journal.MutationListener;
+
+/**
+ * Logs the monthly recurring revenue whenever a subscription or skier mutation is committed,
+ * instead of polling it on a fixed schedule. Bursts such as bulk imports are logged at most once a second.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MonthlyRevenueReporter implements MutationListener {
+
+    private static final long MIN_LOG_INTERVAL_MILLIS = 1000;
+
+    private final RecurringRevenueAggregate revenueAggregate;
+
+    private long lastLogged;
+
+    @Override
+    public void onMutation(Mutation mutation) {
+        if (mutation.getEntityType() != EntityType.SUBSCRIPTION && mutation.getEntityType() != EntityType.SKIER) {
+            return;
+        }
+        if (mutation.getTimestamp() - lastLogged >= MIN_LOG_INTERVAL_MILLIS) {
+            lastLogged = mutation.getTimestamp();
+            log.info("Monthly Revenue = {}", revenueAggregate.current().getRevenue());
+        }
+    }
+
+    @Override
+    public void onOverrun() {
+        revenueAggregate.reload();
+    }
+}
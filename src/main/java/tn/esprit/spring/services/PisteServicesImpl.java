@@ -1,34 +1,77 @@
 package tn.esprit.spring.services;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.dto.KeysetPage;
+import tn.esprit.spring.dto.PisteSnapshot;
+import tn.esprit.spring.dto.PisteView;
 import tn.esprit.spring.entities.Piste;
 import tn.esprit.spring.repositories.IPisteRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+import tn.esprit.spring.services.journal.MutationOp;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 @AllArgsConstructor
 @Service
 public class PisteServicesImpl implements  IPisteServices{
 
     private IPisteRepository pisteRepository;
 
+    private ReferenceDataCache referenceDataCache;
+
+    private MutationJournal mutationJournal;
+
+    private ReadModelAssembler readModelAssembler;
+
     @Override
-    public List<Piste> retrieveAllPistes() {
-        return pisteRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<PisteView> retrieveAllPistes() {
+        return readModelAssembler.withSkiers(pisteRepository.findAllSnapshots());
     }
 
     @Override
     public Piste addPiste(Piste piste) {
-        return pisteRepository.save(piste);
+        MutationOp op = piste.getNumPiste() == null ? MutationOp.CREATE : MutationOp.UPDATE;
+        Piste savedPiste = pisteRepository.save(piste);
+        // addPiste doubles as the update endpoint
+        referenceDataCache.evictPiste(savedPiste.getNumPiste());
+        mutationJournal.append(EntityType.PISTE, op, savedPiste.getNumPiste());
+        return savedPiste;
     }
 
     @Override
     public void removePiste(Long numPiste) {
         pisteRepository.deleteById(numPiste);
+        referenceDataCache.evictPiste(numPiste);
+        mutationJournal.append(EntityType.PISTE, MutationOp.DELETE, numPiste);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PisteView retrievePiste(Long numPiste) {
+        PisteSnapshot piste = referenceDataCache.piste(numPiste);
+        return piste == null ? null : readModelAssembler.withSkiers(List.of(piste)).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<PisteView> retrievePistesPage(String cursor, int size) {
+        int limit = KeysetCursor.clampSize(size);
+        List<PisteView> pistes = readModelAssembler.withSkiers(
+                pisteRepository.findSnapshotsAfter(KeysetCursor.decode(cursor), PageRequest.of(0, limit)));
+        return KeysetCursor.page(pistes, limit, PisteView::getNumPiste);
     }
 
     @Override
-    public Piste retrievePiste(Long numPiste) {
-        return pisteRepository.findById(numPiste).orElse(null);
+    @Transactional(readOnly = true)
+    public void streamAllPistes(Consumer<PisteView> consumer) {
+        try (Stream<PisteSnapshot> pistes = pisteRepository.streamAllSnapshots()) {
+            ReadModelAssembler.forEachChunk(pistes, readModelAssembler::withSkiers, consumer);
+        }
     }
 }
@@ -0,0 +1,85 @@
+package tn.esprit.spring.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.dto.PisteSkier;
+import tn.esprit.spring.dto.PisteSnapshot;
+import tn.esprit.spring.dto.PisteView;
+import tn.esprit.spring.dto.RegistrationView;
+import tn.esprit.spring.dto.SkierView;
+import tn.esprit.spring.repositories.IPisteRepository;
+import tn.esprit.spring.repositories.IRegistrationRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Attaches the collections the GET endpoints have always returned (a skier's registrations, a piste's
+ * skiers) to the projected views, with one query per list of parents rather than one per parent.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadModelAssembler {
+
+    // Matches the fetch size of the projection streams
+    static final int CHUNK_SIZE = 500;
+
+    private final IRegistrationRepository registrationRepository;
+    private final IPisteRepository pisteRepository;
+
+    public List<SkierView> withRegistrations(List<SkierView> skiers) {
+        if (skiers.isEmpty()) {
+            return skiers;
+        }
+        List<Long> numSkiers = skiers.stream().map(SkierView::getNumSkier).collect(Collectors.toList());
+        Map<Long, List<RegistrationView>> registrations = registrationRepository.findViewsBySkiers(numSkiers).stream()
+                .collect(Collectors.groupingBy(RegistrationView::getNumSkier));
+        return skiers.stream()
+                .map(skier -> skier.withRegistrations(registrations.getOrDefault(skier.getNumSkier(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    public List<PisteView> withSkiers(List<PisteSnapshot> pistes) {
+        if (pistes.isEmpty()) {
+            return List.of();
+        }
+        List<Long> numPistes = pistes.stream().map(PisteSnapshot::getNumPiste).collect(Collectors.toList());
+        List<PisteSkier> rows = pisteRepository.findSkiersByPistes(numPistes);
+        // A skier on several pistes of the page is still fetched once for its registrations
+        Map<Long, SkierView> skiers = withRegistrations(rows.stream()
+                .map(PisteSkier::getSkier)
+                .distinct()
+                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(SkierView::getNumSkier, Function.identity()));
+        Map<Long, List<SkierView>> skiersByPiste = rows.stream()
+                .collect(Collectors.groupingBy(PisteSkier::getNumPiste,
+                        Collectors.mapping(row -> skiers.get(row.getSkier().getNumSkier()), Collectors.toList())));
+        return pistes.stream()
+                .map(piste -> PisteView.of(piste, skiersByPiste.getOrDefault(piste.getNumPiste(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Feeds a projection stream to the consumer in chunks, so the children of each chunk are loaded
+     * with one query.
+     */
+    public static <T, R> void forEachChunk(Stream<T> rows, Function<List<T>, List<R>> assemble, Consumer<R> consumer) {
+        List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        rows.forEach(row -> {
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                assemble.apply(chunk).forEach(consumer);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            assemble.apply(chunk).forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package tn.esprit.spring.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.dto.MonthlyRecurringRevenue;
+import tn.esprit.spring.dto.RevenueByType;
+import tn.esprit.spring.entities.TypeSubscription;
+import tn.esprit.spring.repositories.ISubscriptionRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Running price total and subscription count per {@link TypeSubscription}, loaded with one
+ * GROUP BY query and then kept current by the subscription write paths.
+ * Reads return the last computed snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurringRevenueAggregate {
+
+    private final ISubscriptionRepository subscriptionRepository;
+
+    private final double[] totals = new double[TypeSubscription.values().length];
+    private final long[] counts = new long[TypeSubscription.values().length];
+    private volatile MonthlyRecurringRevenue snapshot = computeSnapshot();
+
+    // Hourly resync picks up rows written outside of the services
+    @PostConstruct
+    @Scheduled(cron = "0 0 * * * *")
+    public synchronized void reload() {
+        Arrays.fill(totals, 0);
+        Arrays.fill(counts, 0);
+        for (RevenueByType row : subscriptionRepository.sumAndCountGroupByTypeSub()) {
+            if (row.getTypeSub() != null) {
+                totals[row.getTypeSub().ordinal()] = row.getTotal() == null ? 0 : row.getTotal();
+                counts[row.getTypeSub().ordinal()] = row.getCount();
+            }
+        }
+        snapshot = computeSnapshot();
+        log.debug("Recurring revenue aggregate reloaded: {}", snapshot.getRevenue());
+    }
+
+    public synchronized void add(TypeSubscription typeSub, Float price) {
+        if (typeSub == null) {
+            return;
+        }
+        totals[typeSub.ordinal()] += price == null ? 0 : price;
+        counts[typeSub.ordinal()]++;
+        snapshot = computeSnapshot();
+    }
+
+    public synchronized void remove(TypeSubscription typeSub, Float price) {
+        if (typeSub == null || counts[typeSub.ordinal()] == 0) {
+            return;
+        }
+        totals[typeSub.ordinal()] -= price == null ? 0 : price;
+        counts[typeSub.ordinal()]--;
+        snapshot = computeSnapshot();
+    }
+
+    public MonthlyRecurringRevenue current() {
+        return snapshot;
+    }
+
+    private MonthlyRecurringRevenue computeSnapshot() {
+        Map<TypeSubscription, Double> averages = new EnumMap<>(TypeSubscription.class);
+        Map<TypeSubscription, Long> subscriptions = new EnumMap<>(TypeSubscription.class);
+        double revenue = 0;
+        for (TypeSubscription type : TypeSubscription.values()) {
+            long count = counts[type.ordinal()];
+            double average = count == 0 ? 0 : totals[type.ordinal()] / count;
+            averages.put(type, average);
+            subscriptions.put(type, count);
+            revenue += average / monthsCovered(type);
+        }
+        return new MonthlyRecurringRevenue(revenue, Collections.unmodifiableMap(averages), Collections.unmodifiableMap(subscriptions));
+    }
+
+    private static int monthsCovered(TypeSubscription type) {
+        switch (type) {
+            case ANNUAL:
+                return 12;
+            case SEMESTRIEL:
+                return 6;
+            default:
+                return 1;
+        }
+    }
+}
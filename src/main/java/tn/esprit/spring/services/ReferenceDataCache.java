@@ -0,0 +1,70 @@
+package tn.esprit.spring.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.InstructorSnapshot;
+import tn.esprit.spring.dto.PisteSnapshot;
+import tn.esprit.spring.repositories.ICourseRepository;
+import tn.esprit.spring.repositories.IInstructorRepository;
+import tn.esprit.spring.repositories.IPisteRepository;
+
+/**
+ * Read-through cache of course, piste and instructor lookups. Entries are immutable snapshots,
+ * so callers always get a fresh detached copy and can never mutate or re-attach the cached value.
+ * Size and TTL are set by {@code spring.cache.caffeine.spec}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    public static final String COURSES = "courses";
+    public static final String PISTES = "pistes";
+    public static final String INSTRUCTORS = "instructors";
+
+    private final ICourseRepository courseRepository;
+    private final IPisteRepository pisteRepository;
+    private final IInstructorRepository instructorRepository;
+
+    @Cacheable(cacheNames = COURSES, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public CourseSnapshot course(Long numCourse) {
+        return courseRepository.findById(numCourse).map(CourseSnapshot::of).orElse(null);
+    }
+
+    @Cacheable(cacheNames = PISTES, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public PisteSnapshot piste(Long numPiste) {
+        return pisteRepository.findById(numPiste).map(PisteSnapshot::of).orElse(null);
+    }
+
+    @Cacheable(cacheNames = INSTRUCTORS, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public InstructorSnapshot instructor(Long numInstructor) {
+        return instructorRepository.findById(numInstructor).map(InstructorSnapshot::of).orElse(null);
+    }
+
+    @CacheEvict(cacheNames = COURSES)
+    public void evictCourse(Long numCourse) {
+        // eviction is done by the cache advice
+    }
+
+    // Course snapshots embed their instructor, so instructor changes drop every course entry
+    @CacheEvict(cacheNames = COURSES, allEntries = true)
+    public void evictAllCourses() {
+        // eviction is done by the cache advice
+    }
+
+    @CacheEvict(cacheNames = PISTES)
+    public void evictPiste(Long numPiste) {
+        // eviction is done by the cache advice
+    }
+
+    @CacheEvict(cacheNames = INSTRUCTORS)
+    public void evictInstructor(Long numInstructor) {
+        // eviction is done by the cache advice
+    }
+}
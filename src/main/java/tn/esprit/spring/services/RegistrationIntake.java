@@ -0,0 +1,140 @@
+package tn.esprit.spring.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.dto.RegistrationOutcome;
+import tn.esprit.spring.dto.RegistrationRequest;
+import tn.esprit.spring.dto.RegistrationResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Intake queue for single registrations. Requests are partitioned by course-week and every partition has
+ * exactly one writer, which admits its queue in arrival order and persists it in micro-batches through
+ * {@link IRegistrationServices#addRegistrationsInBatch}. Registrations for the same class therefore never
+ * compete for a seat concurrently. A micro-batch that fails is replayed one row at a time, so a bad request
+ * only fails its own future.
+ */
+@Slf4j
+@Component
+public class RegistrationIntake {
+
+    static final int MAX_BATCH = 50;
+    static final int QUEUE_CAPACITY = 10_000;
+
+    private final IRegistrationServices registrationServices;
+    private final List<BlockingQueue<PendingRegistration>> partitions = new ArrayList<>();
+    private final ExecutorService writers;
+
+    public RegistrationIntake(IRegistrationServices registrationServices,
+                              @Value("${app.registration.intake.partitions:4}") int partitionCount) {
+        this.registrationServices = registrationServices;
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayBlockingQueue<>(QUEUE_CAPACITY));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(partitionCount, task -> {
+            Thread thread = new Thread(task, "registration-intake-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        for (BlockingQueue<PendingRegistration> partition : partitions) {
+            writers.execute(() -> drain(partition));
+        }
+        log.info("Registration intake started with {} partitions", partitions.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        writers.shutdownNow();
+        for (BlockingQueue<PendingRegistration> partition : partitions) {
+            List<PendingRegistration> abandoned = new ArrayList<>();
+            partition.drainTo(abandoned);
+            abandoned.forEach(pending -> pending.future.completeExceptionally(
+                    new RejectedExecutionException("Registration intake is shutting down")));
+        }
+    }
+
+    /**
+     * Queues a registration; the future completes once its micro-batch is committed.
+     * Completes exceptionally with {@link RejectedExecutionException} when the partition is full.
+     */
+    public CompletableFuture<RegistrationResult> submit(RegistrationRequest request) {
+        PendingRegistration pending = new PendingRegistration(request);
+        if (!partitionOf(request).offer(pending)) {
+            pending.future.completeExceptionally(new RejectedExecutionException("Registration intake is full"));
+        }
+        return pending.future;
+    }
+
+    private BlockingQueue<PendingRegistration> partitionOf(RegistrationRequest request) {
+        int hash = Objects.hash(request.getNumCourse(), request.getNumWeek());
+        return partitions.get(Math.floorMod(hash, partitions.size()));
+    }
+
+    private void drain(BlockingQueue<PendingRegistration> partition) {
+        List<PendingRegistration> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(partition.take());
+                partition.drainTo(batch, MAX_BATCH - 1);
+                admit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void admit(List<PendingRegistration> batch) {
+        List<RegistrationRequest> requests = batch.stream()
+                .map(pending -> pending.request)
+                .collect(Collectors.toList());
+        try {
+            List<RegistrationOutcome> outcomes = registrationServices.addRegistrationsInBatch(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(RegistrationResult.of(outcomes.get(i)));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("Registration of skier {} failed", requests.get(0).getNumSkier(), e);
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            // One bad row rolls back the whole micro-batch; replay the rows alone so only that row fails
+            log.warn("Registration micro-batch of {} requests failed, retrying row by row", batch.size(), e);
+            batch.forEach(this::admitAlone);
+        }
+    }
+
+    private void admitAlone(PendingRegistration pending) {
+        try {
+            RegistrationOutcome outcome = registrationServices.addRegistrationsInBatch(List.of(pending.request)).get(0);
+            pending.future.complete(RegistrationResult.of(outcome));
+        } catch (RuntimeException e) {
+            log.error("Registration of skier {} failed", pending.request.getNumSkier(), e);
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingRegistration {
+        private final RegistrationRequest request;
+        private final CompletableFuture<RegistrationResult> future = new CompletableFuture<>();
+
+        private PendingRegistration(RegistrationRequest request) {
+            this.request = request;
+        }
+    }
+}
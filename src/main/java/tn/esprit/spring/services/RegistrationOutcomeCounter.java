@@ -0,0 +1,32 @@
+package tn.esprit.spring.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.dto.RegistrationStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * {@code registration.outcomes} counter per {@link RegistrationStatus}, so rejections such as a full
+ * course, the wrong age or a duplicate show up next to the successful registrations.
+ */
+@Component
+public class RegistrationOutcomeCounter {
+
+    private final Map<RegistrationStatus, Counter> counters = new EnumMap<>(RegistrationStatus.class);
+
+    public RegistrationOutcomeCounter(MeterRegistry meterRegistry) {
+        for (RegistrationStatus status : RegistrationStatus.values()) {
+            counters.put(status, Counter.builder("registration.outcomes")
+                    .description("Registration attempts by outcome")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void increment(RegistrationStatus status) {
+        counters.get(status).increment();
+    }
+}
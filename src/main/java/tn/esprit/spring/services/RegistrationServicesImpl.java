@@ -3,15 +3,24 @@ package tn.esprit.spring.services;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.InstructorWeekLoad;
+import tn.esprit.spring.dto.RegistrationKey;
+import tn.esprit.spring.dto.RegistrationOutcome;
+import tn.esprit.spring.dto.RegistrationRequest;
+import tn.esprit.spring.dto.RegistrationStatus;
 import tn.esprit.spring.entities.*;
 import tn.esprit.spring.repositories.ICourseRepository;
 import tn.esprit.spring.repositories.IRegistrationRepository;
 import tn.esprit.spring.repositories.ISkierRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+import tn.esprit.spring.services.journal.MutationOp;
 
 import javax.transaction.Transactional;
-import java.time.LocalDate;
-import java.time.Period;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @AllArgsConstructor
@@ -21,6 +30,12 @@ public class RegistrationServicesImpl implements IRegistrationServices {
     private final IRegistrationRepository registrationRepository;
     private final ISkierRepository skierRepository;
     private final ICourseRepository courseRepository;
+    private final CourseCapacityLedger capacityLedger;
+    private final ReferenceDataCache referenceDataCache;
+    private final SkierEligibilityIndex skierEligibility;
+    private final MutationJournal mutationJournal;
+    private final RegistrationOutcomeCounter registrationOutcomes;
+    private final InstructorScheduleView scheduleView;
 
     @Override
     public Registration addRegistrationAndAssignToSkier(Registration registration, Long numSkier) {
@@ -30,122 +45,201 @@ public class RegistrationServicesImpl implements IRegistrationServices {
             return null;
         }
         registration.setSkier(skier);
-        return registrationRepository.save(registration);
+        Registration savedRegistration = registrationRepository.save(registration);
+        mutationJournal.append(EntityType.REGISTRATION, MutationOp.CREATE, savedRegistration.getNumRegistration());
+        return savedRegistration;
     }
 
+    @Transactional
     @Override
     public Registration assignRegistrationToCourse(Long numRegistration, Long numCourse) {
         Registration registration = registrationRepository.findById(numRegistration).orElse(null);
-        Course course = courseRepository.findById(numCourse).orElse(null);
+        CourseSnapshot course = referenceDataCache.course(numCourse);
 
         if (registration == null || course == null) {
             log.warn("Registration or Course not found. Registration ID: {}, Course ID: {}", numRegistration, numCourse);
             return null;
         }
 
-        registration.setCourse(course);
-        return registrationRepository.save(registration);
+        Course previousCourse = registration.getCourse();
+        boolean moved = previousCourse == null || !previousCourse.getNumCourse().equals(course.getNumCourse());
+        if (moved && !capacityLedger.reserve(course.getTypeCourse(), course.getNumCourse(), registration.getNumWeek())) {
+            log.info("No seat left in course {} for week {}, registration {} not moved",
+                    course.getNumCourse(), registration.getNumWeek(), numRegistration);
+            registrationOutcomes.increment(RegistrationStatus.COURSE_FULL);
+            return null;
+        }
+        registration.setCourse(courseRepository.getById(numCourse));
+        Registration savedRegistration = registrationRepository.save(registration);
+        if (moved) {
+            if (previousCourse != null) {
+                capacityLedger.releaseAfterCommit(previousCourse.getNumCourse(), registration.getNumWeek());
+                scheduleView.unregistered(previousCourse.getNumCourse(), registration.getNumWeek());
+            }
+            scheduleView.registered(course.getNumCourse(), registration.getNumWeek());
+        }
+        mutationJournal.append(EntityType.REGISTRATION, MutationOp.UPDATE, savedRegistration.getNumRegistration());
+        return savedRegistration;
     }
 
     @Transactional
     @Override
     public Registration addRegistrationAndAssignToSkierAndCourse(Registration registration, Long numSkieur, Long numCours) {
-        Skier skier = skierRepository.findById(numSkieur).orElse(null);
-        Course course = courseRepository.findById(numCours).orElse(null);
+        CourseSnapshot course = referenceDataCache.course(numCours);
 
-        if (skier == null || course == null) {
+        if (!skierEligibility.resolve(numSkieur) || course == null) {
             log.warn("Skier or Course not found. Skier ID: {}, Course ID: {}", numSkieur, numCours);
+            registrationOutcomes.increment(course == null ? RegistrationStatus.COURSE_NOT_FOUND : RegistrationStatus.SKIER_NOT_FOUND);
             return null;
         }
 
-        if (isAlreadyRegistered(registration, skier, course)) {
-            log.info("Skier is already registered for this course in week: {}", registration.getNumWeek());
+        if (isAlreadyRegistered(registration, numSkieur, numCours)) {
+            log.debug("registration rejected status={} skier={} course={} week={}",
+                    RegistrationStatus.ALREADY_REGISTERED, numSkieur, numCours, registration.getNumWeek());
+            registrationOutcomes.increment(RegistrationStatus.ALREADY_REGISTERED);
             return null;
         }
 
-        int ageSkieur = calculateAge(skier.getDateOfBirth());
-        log.info("Skier age: {}", ageSkieur);
-
-        return handleCourseRegistration(registration, skier, course, ageSkieur);
+        return handleCourseRegistration(registration, numSkieur, course);
     }
 
-    private boolean isAlreadyRegistered(Registration registration, Skier skier, Course course) {
+    private boolean isAlreadyRegistered(Registration registration, Long numSkier, Long numCourse) {
         return registrationRepository.countDistinctByNumWeekAndSkier_NumSkierAndCourse_NumCourse(
-                registration.getNumWeek(), skier.getNumSkier(), course.getNumCourse()) >= 1;
+                registration.getNumWeek(), numSkier, numCourse) >= 1;
     }
 
-    private int calculateAge(LocalDate dateOfBirth) {
-        return Period.between(dateOfBirth, LocalDate.now()).getYears();
+    private Registration handleCourseRegistration(Registration registration, Long numSkier, CourseSnapshot course) {
+        RegistrationStatus status = admit(course.getTypeCourse(), course.getNumCourse(), registration.getNumWeek(), numSkier);
+        registrationOutcomes.increment(status);
+        if (status != RegistrationStatus.REGISTERED) {
+            log.debug("registration rejected status={} skier={} course={} week={}",
+                    status, numSkier, course.getNumCourse(), registration.getNumWeek());
+            return null;
+        }
+        log.debug("registration admitted skier={} course={} week={}", numSkier, course.getNumCourse(), registration.getNumWeek());
+        // Skier and course were checked in memory; the registration points at lazy references, no select needed
+        return assignRegistration(registration, skierRepository.getById(numSkier), courseRepository.getById(course.getNumCourse()));
     }
 
-    private Registration handleCourseRegistration(Registration registration, Skier skier, Course course, int ageSkieur) {
-        switch (course.getTypeCourse()) {
+    // Applies the age rules of the course type and takes a seat in the capacity ledger when admitted
+    private RegistrationStatus admit(TypeCourse typeCourse, Long numCourse, int numWeek, Long numSkier) {
+        if (numWeek < Registration.MIN_WEEK || numWeek > Registration.MAX_WEEK) {
+            return RegistrationStatus.INVALID_WEEK;
+        }
+        switch (typeCourse) {
             case INDIVIDUAL:
-                return handleIndividualCourse(registration, skier, course);
+                capacityLedger.record(numCourse, numWeek);
+                return RegistrationStatus.REGISTERED;
 
             case COLLECTIVE_CHILDREN:
-                return handleCollectiveChildrenCourse(registration, skier, course, ageSkieur);
+                return admitCollective(numCourse, numWeek, skierEligibility.isChild(numSkier));
 
             case COLLECTIVE_ADULT:
-                return handleCollectiveAdultCourse(registration, skier, course, ageSkieur);
+                return admitCollective(numCourse, numWeek, skierEligibility.isAdult(numSkier));
 
             default:
-                log.warn("Unsupported course type: {}", course.getTypeCourse());
-                return null;
+                log.warn("Unsupported course type: {}", typeCourse);
+                return RegistrationStatus.UNSUPPORTED_COURSE_TYPE;
         }
     }
 
-    private Registration handleIndividualCourse(Registration registration, Skier skier, Course course) {
-        log.info("Adding registration for individual course without tests.");
-        return assignRegistration(registration, skier, course);
+    private RegistrationStatus admitCollective(Long numCourse, int numWeek, boolean ageEligible) {
+        if (!ageEligible) {
+            return RegistrationStatus.AGE_NOT_ELIGIBLE;
+        }
+        if (!capacityLedger.tryReserve(numCourse, numWeek)) {
+            return RegistrationStatus.COURSE_FULL;
+        }
+        return RegistrationStatus.REGISTERED;
     }
 
-    private Registration handleCollectiveChildrenCourse(Registration registration, Skier skier, Course course, int ageSkieur) {
-        if (ageSkieur < 16) {
-            log.info("Skier is a child. Proceeding with registration.");
+    private Registration assignRegistration(Registration registration, Skier skier, Course course) {
+        registration.setSkier(skier);
+        registration.setCourse(course);
+        Registration savedRegistration = registrationRepository.save(registration);
+        scheduleView.registered(course.getNumCourse(), savedRegistration.getNumWeek());
+        mutationJournal.append(EntityType.REGISTRATION, MutationOp.CREATE, savedRegistration.getNumRegistration());
+        return savedRegistration;
+    }
 
-            if (isCourseFull(course, registration.getNumWeek())) {
-                log.info("Course is full for week: {}", registration.getNumWeek());
-                return null;
+    @Transactional
+    @Override
+    public List<RegistrationOutcome> addRegistrationsInBatch(List<RegistrationRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " registrations per batch, got " + requests.size());
+        }
+        Set<Long> skierIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        Set<Integer> weeks = new HashSet<>();
+        for (RegistrationRequest request : requests) {
+            skierIds.add(request.getNumSkier());
+            if (request.getNumCourse() != null) {
+                courseIds.add(request.getNumCourse());
             }
-
-            log.info("Course successfully added for child skier.");
-            return assignRegistration(registration, skier, course);
-        } else {
-            log.info("Skier is too old for a children's course. Age: {}", ageSkieur);
-            return null;
+            weeks.add(request.getNumWeek());
         }
-    }
 
-    private Registration handleCollectiveAdultCourse(Registration registration, Skier skier, Course course, int ageSkieur) {
-        if (ageSkieur >= 16) {
-            log.info("Skier is an adult. Proceeding with registration.");
-
-            if (isCourseFull(course, registration.getNumWeek())) {
-                log.info("Course is full for week: {}", registration.getNumWeek());
-                return null;
+        Set<Long> skiers = skierEligibility.resolveAll(skierIds);
+
+        Map<Long, Course> courses = courseRepository.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(Course::getNumCourse, Function.identity()));
+        Set<RegistrationKey> registered = skiers.isEmpty() || courses.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(registrationRepository.findKeysBySkiersAndCoursesAndWeeks(skiers, courses.keySet(), weeks));
+
+        RegistrationStatus[] statuses = new RegistrationStatus[requests.size()];
+        Map<Integer, Registration> admitted = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            RegistrationRequest request = requests.get(i);
+            Course course = courses.get(request.getNumCourse());
+            RegistrationKey key = new RegistrationKey(request.getNumSkier(), request.getNumCourse(), request.getNumWeek());
+            if (!skiers.contains(request.getNumSkier())) {
+                statuses[i] = RegistrationStatus.SKIER_NOT_FOUND;
+            } else if (course == null) {
+                statuses[i] = RegistrationStatus.COURSE_NOT_FOUND;
+            } else if (registered.contains(key)) {
+                statuses[i] = RegistrationStatus.ALREADY_REGISTERED;
+            } else {
+                statuses[i] = admit(course.getTypeCourse(), course.getNumCourse(), request.getNumWeek(), request.getNumSkier());
+                if (statuses[i] == RegistrationStatus.REGISTERED) {
+                    registered.add(key);
+                    Registration registration = new Registration();
+                    registration.setNumWeek(request.getNumWeek());
+                    registration.setSkier(skierRepository.getById(request.getNumSkier()));
+                    registration.setCourse(course);
+                    admitted.put(i, registration);
+                }
             }
+        }
 
-            log.info("Course successfully added for adult skier.");
-            return assignRegistration(registration, skier, course);
-        } else {
-            log.info("Skier is too young for an adult course. Age: {}", ageSkieur);
-            return null;
+        registrationRepository.saveAll(admitted.values());
+        for (Registration registration : admitted.values()) {
+            scheduleView.registered(registration.getCourse().getNumCourse(), registration.getNumWeek());
+            mutationJournal.append(EntityType.REGISTRATION, MutationOp.CREATE, registration.getNumRegistration());
         }
+        log.info("Batch registration: {} of {} rows admitted", admitted.size(), requests.size());
+
+        List<RegistrationOutcome> outcomes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Registration registration = admitted.get(i);
+            registrationOutcomes.increment(statuses[i]);
+            outcomes.add(new RegistrationOutcome(i, statuses[i], registration == null ? null : registration.getNumRegistration()));
+        }
+        return outcomes;
     }
 
-    private boolean isCourseFull(Course course, int numWeek) {
-        return registrationRepository.countByCourseAndNumWeek(course, numWeek) >= 6;
+    @Override
+    public List<Integer> numWeeksCourseOfInstructorBySupport(Long numInstructor, Support support) {
+        return scheduleView.busyWeeks(numInstructor, support);
     }
 
-    private Registration assignRegistration(Registration registration, Skier skier, Course course) {
-        registration.setSkier(skier);
-        registration.setCourse(course);
-        return registrationRepository.save(registration);
+    @Override
+    public List<InstructorWeekLoad> instructorSchedule(Long numInstructor) {
+        return scheduleView.schedule(numInstructor);
     }
 
     @Override
-    public List<Integer> numWeeksCourseOfInstructorBySupport(Long numInstructor, Support support) {
-        return registrationRepository.numWeeksCourseOfInstructorBySupport(numInstructor, support);
+    public List<InstructorWeekLoad> instructorSchedules() {
+        return scheduleView.schedules();
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package tn.esprit.spring.services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import tn.esprit.spring.dto.RowFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes each row of a JDBC result straight to an output stream as CSV (with a header) or NDJSON,
+ * using the given column names in select-list order. Closing flushes but leaves the stream open.
+ */
+final class RowStreamWriter implements RowCallbackHandler, Closeable {
+
+    private final JsonGenerator generator;
+    private final String[] columns;
+    private final boolean newlineAfterRow;
+    private long rows;
+
+    private RowStreamWriter(JsonGenerator generator, String[] columns, boolean newlineAfterRow) {
+        this.generator = generator;
+        this.columns = columns;
+        this.newlineAfterRow = newlineAfterRow;
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    static RowStreamWriter open(RowFormat format, ObjectMapper objectMapper, CsvMapper csvMapper,
+                                String[] columns, OutputStream out) throws IOException {
+        if (format == RowFormat.CSV) {
+            CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+            for (String column : columns) {
+                schema.addColumn(column);
+            }
+            CsvGenerator generator = csvMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.setSchema(schema.build());
+            return new RowStreamWriter(generator, columns, false);
+        }
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        return new RowStreamWriter(generator, columns, true);
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        try {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                writeValue(rs.getObject(i + 1));
+            }
+            generator.writeEndObject();
+            if (newlineAfterRow) {
+                generator.writeRaw('\n');
+            }
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof java.sql.Date) {
+            generator.writeString(((java.sql.Date) value).toLocalDate().toString());
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package tn.esprit.spring.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.dto.PassValidity;
+import tn.esprit.spring.dto.SkierEligibility;
+import tn.esprit.spring.entities.TypeSubscription;
+import tn.esprit.spring.repositories.ISkierRepository;
+
+import javax.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Compact in-memory view of what registration and the lift gates need to know about a skier, one long
+ * per skier in a primitive map: the date of birth as an epoch day in the high half, and the subscription
+ * end epoch day shifted left by two with the subscription type in the low two bits in the low half.
+ * Age and pass checks become int comparisons against today's cut-off days.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SkierEligibilityIndex {
+
+    public static final int ADULT_AGE = 16;
+
+    private static final int NO_DAY = Integer.MIN_VALUE;
+    private static final int NO_SUBSCRIPTION = 0;
+    private static final long UNKNOWN = pack(NO_DAY, NO_SUBSCRIPTION);
+    private static final TypeSubscription[] TYPES = TypeSubscription.values();
+
+    private final ISkierRepository skierRepository;
+    private final Clock clock;
+    private final LongLongHashMap skiers = new LongLongHashMap();
+    // today's epoch day (high half) and the latest birth day of an adult (low half)
+    private volatile long adultCutoff;
+
+    @PostConstruct
+    public void warmUp() {
+        skiers.clear();
+        for (SkierEligibility skier : skierRepository.findEligibility()) {
+            put(skier.getNumSkier(), skier.getDateOfBirth(), skier.getTypeSub(), skier.getSubscriptionEnd());
+        }
+        log.info("Skier eligibility index warmed with {} skiers", skiers.size());
+    }
+
+    public void put(Long numSkier, LocalDate dateOfBirth, TypeSubscription typeSub, LocalDate subscriptionEnd) {
+        skiers.put(numSkier, pack(epochDay(dateOfBirth), subscription(typeSub, subscriptionEnd)));
+    }
+
+    // Reloads the skier holding this subscription after its dates changed
+    public void refreshSubscription(Long numSub) {
+        for (SkierEligibility skier : skierRepository.findEligibilityBySubscription(numSub)) {
+            put(skier.getNumSkier(), skier.getDateOfBirth(), skier.getTypeSub(), skier.getSubscriptionEnd());
+        }
+    }
+
+    public void remove(Long numSkier) {
+        skiers.remove(numSkier);
+    }
+
+    public boolean contains(Long numSkier) {
+        return numSkier != null && numSkier > 0 && skiers.containsKey(numSkier);
+    }
+
+    /**
+     * Like {@link #contains}, but a skier the index has not seen (written by another instance, by SQL, or whose
+     * put was lost) is loaded from the database and indexed. False only when there is no such row.
+     */
+    public boolean resolve(Long numSkier) {
+        if (contains(numSkier)) {
+            return true;
+        }
+        if (numSkier == null || numSkier <= 0) {
+            return false;
+        }
+        Optional<SkierEligibility> skier = skierRepository.findEligibilityById(numSkier);
+        skier.ifPresent(found -> put(found.getNumSkier(), found.getDateOfBirth(), found.getTypeSub(), found.getSubscriptionEnd()));
+        return skier.isPresent();
+    }
+
+    /**
+     * {@link #resolve} for a whole batch: the skiers the index has not seen are loaded in one query.
+     * Returns the ids that exist.
+     */
+    public Set<Long> resolveAll(Collection<Long> numSkiers) {
+        Set<Long> known = new HashSet<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long numSkier : numSkiers) {
+            if (contains(numSkier)) {
+                known.add(numSkier);
+            } else if (numSkier != null && numSkier > 0) {
+                missing.add(numSkier);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (SkierEligibility skier : skierRepository.findEligibilityByIds(missing)) {
+                put(skier.getNumSkier(), skier.getDateOfBirth(), skier.getTypeSub(), skier.getSubscriptionEnd());
+                known.add(skier.getNumSkier());
+            }
+        }
+        return known;
+    }
+
+    public boolean isAdult(Long numSkier) {
+        int birthDay = high(lookup(numSkier));
+        return birthDay != NO_DAY && birthDay <= adultCutoffDay();
+    }
+
+    public boolean isChild(Long numSkier) {
+        int birthDay = high(lookup(numSkier));
+        return birthDay != NO_DAY && birthDay > adultCutoffDay();
+    }
+
+    public boolean hasActiveSubscription(Long numSkier, LocalDate day) {
+        int subscription = low(lookup(numSkier));
+        return subscription != NO_SUBSCRIPTION && endDay(subscription) >= day.toEpochDay();
+    }
+
+    // Null for an unknown skier
+    public PassValidity checkPass(Long numSkier, LocalDate day) {
+        if (!resolve(numSkier)) {
+            return null;
+        }
+        int subscription = low(lookup(numSkier));
+        if (subscription == NO_SUBSCRIPTION) {
+            return new PassValidity(numSkier, false, null, null);
+        }
+        return new PassValidity(numSkier, endDay(subscription) >= day.toEpochDay(),
+                TYPES[(subscription & 3) - 1], LocalDate.ofEpochDay(endDay(subscription)));
+    }
+
+    private long lookup(Long numSkier) {
+        return numSkier == null || numSkier <= 0 ? UNKNOWN : skiers.get(numSkier, UNKNOWN);
+    }
+
+    private int adultCutoffDay() {
+        long cutoff = adultCutoff;
+        int today = (int) LocalDate.now(clock).toEpochDay();
+        if (high(cutoff) != today) {
+            cutoff = pack(today, (int) LocalDate.ofEpochDay(today).minusYears(ADULT_AGE).toEpochDay());
+            adultCutoff = cutoff;
+        }
+        return low(cutoff);
+    }
+
+    // A subscription without end date never makes a pass valid, so it is stored as no subscription
+    private static int subscription(TypeSubscription typeSub, LocalDate end) {
+        return typeSub == null || end == null ? NO_SUBSCRIPTION : ((int) end.toEpochDay() << 2) | (typeSub.ordinal() + 1);
+    }
+
+    private static int endDay(int subscription) {
+        return subscription >> 2;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_DAY : (int) date.toEpochDay();
+    }
+
+    private static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    private static int high(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int low(long packed) {
+        return (int) packed;
+    }
+}
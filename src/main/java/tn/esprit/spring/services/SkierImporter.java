@@ -0,0 +1,210 @@
+package tn.esprit.spring.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import tn.esprit.spring.dto.RowFormat;
+import tn.esprit.spring.dto.SkierImportReport;
+import tn.esprit.spring.dto.SkierImportRow;
+import tn.esprit.spring.entities.Skier;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams a skier import row by row: CSV with a header row, read by the Jackson CSV parser so quoted
+ * fields may hold commas and line breaks, or one JSON document per line. Valid rows are written in fixed-size batches, each in its own transaction, so memory use does
+ * not depend on the size of the upload. Invalid rows are counted and skipped.
+ */
+@Slf4j
+@Component
+public class SkierImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ISkierServices skierServices;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+
+    public SkierImporter(ISkierServices skierServices, ObjectMapper objectMapper,
+                         @Value("${app.skier.import.batch-size:1000}") int batchSize) {
+        this.skierServices = skierServices;
+        this.jsonReader = objectMapper.readerFor(SkierImportRow.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        CsvMapper csvMapper = new CsvMapper();
+        csvMapper.registerModule(new JavaTimeModule());
+        csvMapper.enable(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        csvMapper.enable(CsvParser.Feature.SKIP_EMPTY_LINES);
+        // Header names were always trimmed; unquoted values now are as well
+        csvMapper.enable(CsvParser.Feature.TRIM_SPACES);
+        this.csvReader = csvMapper.readerFor(SkierImportRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.batchSize = batchSize;
+    }
+
+    public SkierImportReport importSkiers(InputStream input, RowFormat format) throws IOException {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+        if (format == RowFormat.CSV) {
+            readCsv(input, run);
+        } else {
+            readNdjson(input, run);
+        }
+        run.flush();
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Skier import finished: {} imported, {} rejected in {} ms", run.imported, run.rejected, elapsedMillis);
+        return new SkierImportReport(run.imported, run.rejected, run.errors, elapsedMillis);
+    }
+
+    private void readCsv(InputStream input, ImportRun run) throws IOException {
+        // The parser refuses a missing header, but an empty upload is just an empty import
+        PushbackInputStream content = new PushbackInputStream(input);
+        int first = content.read();
+        if (first == -1) {
+            return;
+        }
+        content.unread(first);
+        MappingIterator<SkierImportRow> rows;
+        try {
+            rows = csvReader.readValues(content);
+        } catch (JsonProcessingException e) {
+            run.reject(1, "header: " + e.getOriginalMessage());
+            return;
+        }
+        try (rows) {
+            while (true) {
+                int lineNumber = rows.getCurrentLocation().getLineNr();
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                } catch (JsonProcessingException e) {
+                    // The parser cannot find the start of another row, e.g. an unterminated quote
+                    run.reject(lineNumber, e.getOriginalMessage());
+                    return;
+                }
+                // A row may span several lines inside quotes; report the line it starts on
+                lineNumber = rows.getCurrentLocation().getLineNr();
+                try {
+                    run.accept(lineNumber, rows.nextValue());
+                } catch (JsonProcessingException e) {
+                    // The iterator skips the rest of the row before reading the next one
+                    run.reject(lineNumber, e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private void readNdjson(InputStream input, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(lineNumber, jsonReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, e.getOriginalMessage());
+            }
+        }
+    }
+
+    private long write(List<Skier> batch, int firstLine, int lastLine, List<String> errors) {
+        try {
+            return skierServices.addSkiersInBatch(batch);
+        } catch (DataAccessException e) {
+            log.warn("Skier import batch of lines {}-{} failed", firstLine, lastLine, e);
+            addError(errors, "lines " + firstLine + "-" + lastLine + ": " + e.getMostSpecificCause().getMessage());
+            return 0;
+        }
+    }
+
+    private static String validate(SkierImportRow row) {
+        if (row.getFirstName() == null || row.getFirstName().isBlank()
+                || row.getLastName() == null || row.getLastName().isBlank()) {
+            return "first and last name are required";
+        }
+        if (row.getDateOfBirth() == null || row.getDateOfBirth().isAfter(LocalDate.now())) {
+            return "date of birth is missing or in the future";
+        }
+        if (row.getTypeSub() == null || row.getStartDate() == null) {
+            return "subscription type and start date are required";
+        }
+        if (row.getPrice() == null || row.getPrice() <= 0) {
+            return "subscription price must be positive";
+        }
+        return null;
+    }
+
+    private static void addError(List<String> errors, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    // Counters and the pending batch of one import
+    private final class ImportRun {
+        private final List<Skier> batch = new ArrayList<>(batchSize);
+        private final List<String> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+        private int batchStartLine;
+        private int lastLine;
+
+        void accept(int lineNumber, SkierImportRow row) {
+            String error = validate(row);
+            if (error != null) {
+                reject(lineNumber, error);
+                return;
+            }
+            if (batch.isEmpty()) {
+                batchStartLine = lineNumber;
+            }
+            batch.add(row.toSkier());
+            lastLine = lineNumber;
+            if (batch.size() == batchSize) {
+                flush();
+                log.info("Skier import progress: {} imported, {} rejected", imported, rejected);
+            }
+        }
+
+        void reject(int lineNumber, String error) {
+            rejected++;
+            addError(errors, "line " + lineNumber + ": " + error);
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            long written = write(batch, batchStartLine, lastLine, errors);
+            imported += written;
+            rejected += batch.size() - written;
+            batch.clear();
+        }
+    }
+}
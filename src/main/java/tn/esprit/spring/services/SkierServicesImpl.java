@@ -1,14 +1,29 @@
 package tn.esprit.spring.services;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.dto.KeysetPage;
+import tn.esprit.spring.dto.PassValidity;
+import tn.esprit.spring.dto.SkierView;
 import tn.esprit.spring.entities.*;
 import tn.esprit.spring.repositories.*;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+import tn.esprit.spring.services.journal.MutationOp;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+@Slf4j
 @AllArgsConstructor
 @Service
 public class SkierServicesImpl implements ISkierServices {
@@ -23,26 +38,56 @@ public class SkierServicesImpl implements ISkierServices {
 
     private ISubscriptionRepository subscriptionRepository;
 
+    private CourseCapacityLedger capacityLedger;
+
+    private RecurringRevenueAggregate revenueAggregate;
+
+    private SkierEligibilityIndex skierEligibility;
+
+    private InstructorScheduleView scheduleView;
+
+    private MutationJournal mutationJournal;
+
+    private ReadModelAssembler readModelAssembler;
+
+    private Clock clock;
+
 
     @Override
-    public List<Skier> retrieveAllSkiers() {
-        return skierRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<SkierView> retrieveAllSkiers() {
+        return readModelAssembler.withRegistrations(skierRepository.findAllViews());
     }
 
     @Override
     public Skier addSkier(Skier skier) {
-        switch (skier.getSubscription().getTypeSub()) {
-            case ANNUAL:
-                skier.getSubscription().setEndDate(skier.getSubscription().getStartDate().plusYears(1));
-                break;
-            case SEMESTRIEL:
-                skier.getSubscription().setEndDate(skier.getSubscription().getStartDate().plusMonths(6));
-                break;
-            case MONTHLY:
-                skier.getSubscription().setEndDate(skier.getSubscription().getStartDate().plusMonths(1));
-                break;
+        SubscriptionTerms.applyEndDate(skier.getSubscription());
+        Skier savedSkier = skierRepository.save(skier);
+        revenueAggregate.add(savedSkier.getSubscription().getTypeSub(), savedSkier.getSubscription().getPrice());
+        index(savedSkier);
+        mutationJournal.append(EntityType.SKIER, MutationOp.CREATE, savedSkier.getNumSkier());
+        return savedSkier;
+    }
+
+    // One transaction per call: the persistence context and the JDBC batch are released when it commits
+    @Transactional
+    @Override
+    public int addSkiersInBatch(List<Skier> skiers) {
+        for (Skier skier : skiers) {
+            SubscriptionTerms.applyEndDate(skier.getSubscription());
+        }
+        skierRepository.saveAll(skiers);
+        // The pooled-id inserts only flush at commit, so a failing batch must not reach the aggregate or the index
+        AfterCommit.run(() -> {
+            for (Skier skier : skiers) {
+                revenueAggregate.add(skier.getSubscription().getTypeSub(), skier.getSubscription().getPrice());
+                index(skier);
+            }
+        });
+        for (Skier skier : skiers) {
+            mutationJournal.append(EntityType.SKIER, MutationOp.CREATE, skier.getNumSkier());
         }
-        return skierRepository.save(skier);
+        return skiers.size();
     }
 
     @Override
@@ -50,30 +95,76 @@ public class SkierServicesImpl implements ISkierServices {
         Skier skier = skierRepository.findById(numSkier).orElse(null);
         Subscription subscription = subscriptionRepository.findById(numSubscription).orElse(null);
         skier.setSubscription(subscription);
-        return skierRepository.save(skier);
+        Skier savedSkier = skierRepository.save(skier);
+        index(savedSkier);
+        mutationJournal.append(EntityType.SKIER, MutationOp.UPDATE, savedSkier.getNumSkier());
+        return savedSkier;
     }
 
     @Override
+    @Transactional
     public Skier addSkierAndAssignToCourse(Skier skier, Long numCourse) {
+        Course course = courseRepository.findById(numCourse).orElse(null);
+        if (course == null) {
+            log.warn("Course with id {} not found, skier not added", numCourse);
+            return null;
+        }
+        Set<Registration> registrations = skier.getRegistrations() == null ? new HashSet<>() : skier.getRegistrations();
+        // Seats first: a full collective week rejects the whole call before anything is written
+        List<Registration> seated = new ArrayList<>();
+        for (Registration r : registrations) {
+            if (!capacityLedger.reserve(course.getTypeCourse(), numCourse, r.getNumWeek())) {
+                log.info("No seat left in course {} for week {}, skier not added", numCourse, r.getNumWeek());
+                seated.forEach(s -> capacityLedger.release(numCourse, s.getNumWeek()));
+                return null;
+            }
+            seated.add(r);
+        }
         Skier savedSkier = skierRepository.save(skier);
-        Course course = courseRepository.getById(numCourse);
-        Set<Registration> registrations = savedSkier.getRegistrations();
+        AfterCommit.run(() -> index(savedSkier));
         for (Registration r : registrations) {
             r.setSkier(savedSkier);
             r.setCourse(course);
-            registrationRepository.save(r);
+            scheduleView.registered(numCourse, r.getNumWeek());
+        }
+        registrationRepository.saveAll(registrations);
+        mutationJournal.append(EntityType.SKIER, MutationOp.CREATE, savedSkier.getNumSkier());
+        for (Registration r : registrations) {
+            mutationJournal.append(EntityType.REGISTRATION, MutationOp.CREATE, r.getNumRegistration());
         }
         return savedSkier;
     }
 
     @Override
     public void removeSkier(Long numSkier) {
-        skierRepository.deleteById(numSkier);
+        Skier skier = skierRepository.findById(numSkier).orElse(null);
+        if (skier == null) {
+            log.warn("Skier with ID {} not found, deletion failed", numSkier);
+            return;
+        }
+        skierRepository.delete(skier);
+        skierEligibility.remove(numSkier);
+        mutationJournal.append(EntityType.SKIER, MutationOp.DELETE, numSkier);
+        if (skier.getSubscription() != null) {
+            revenueAggregate.remove(skier.getSubscription().getTypeSub(), skier.getSubscription().getPrice());
+        }
+    }
+
+    private void index(Skier skier) {
+        Subscription subscription = skier.getSubscription();
+        if (subscription == null) {
+            skierEligibility.put(skier.getNumSkier(), skier.getDateOfBirth(), null, null);
+        } else {
+            skierEligibility.put(skier.getNumSkier(), skier.getDateOfBirth(), subscription.getTypeSub(), subscription.getEndDate());
+        }
     }
 
     @Override
-    public Skier retrieveSkier(Long numSkier) {
-        return skierRepository.findById(numSkier).orElse(null);
+    @Transactional(readOnly = true)
+    public SkierView retrieveSkier(Long numSkier) {
+        return skierRepository.findViewById(numSkier)
+                .map(skier -> readModelAssembler.withRegistrations(List.of(skier)).get(0))
+                .orElse(null);
     }
 
     @Override
@@ -88,11 +179,36 @@ public class SkierServicesImpl implements ISkierServices {
             skier.setPistes(pisteList);
         }
 
-        return skierRepository.save(skier);
+        Skier savedSkier = skierRepository.save(skier);
+        mutationJournal.append(EntityType.SKIER, MutationOp.UPDATE, savedSkier.getNumSkier());
+        return savedSkier;
     }
 
     @Override
-    public List<Skier> retrieveSkiersBySubscriptionType(TypeSubscription typeSubscription) {
-        return skierRepository.findBySubscription_TypeSub(typeSubscription);
+    public PassValidity checkPass(Long numSkier) {
+        return skierEligibility.checkPass(numSkier, LocalDate.now(clock));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SkierView> retrieveSkiersBySubscriptionType(TypeSubscription typeSubscription) {
+        return readModelAssembler.withRegistrations(skierRepository.findViewsByTypeSub(typeSubscription));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<SkierView> retrieveSkiersPage(String cursor, int size) {
+        int limit = KeysetCursor.clampSize(size);
+        List<SkierView> skiers = readModelAssembler.withRegistrations(
+                skierRepository.findViewsAfter(KeysetCursor.decode(cursor), PageRequest.of(0, limit)));
+        return KeysetCursor.page(skiers, limit, SkierView::getNumSkier);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllSkiers(Consumer<SkierView> consumer) {
+        try (Stream<SkierView> skiers = skierRepository.streamAllViews()) {
+            ReadModelAssembler.forEachChunk(skiers, readModelAssembler::withRegistrations, consumer);
+        }
     }
 }
\ No newline at end of file
@@ -1,80 +1,127 @@
 package tn.esprit.spring.services;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import tn.esprit.spring.entities.Skier;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.dto.ExpiredSubscription;
+import tn.esprit.spring.dto.MonthlyRecurringRevenue;
+import tn.esprit.spring.dto.SubscriptionView;
+import tn.esprit.spring.entities.JobWatermark;
 import tn.esprit.spring.entities.Subscription;
 import tn.esprit.spring.entities.TypeSubscription;
-import tn.esprit.spring.repositories.ISkierRepository;
+import tn.esprit.spring.repositories.IJobWatermarkRepository;
 import tn.esprit.spring.repositories.ISubscriptionRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+import tn.esprit.spring.services.journal.MutationOp;
 
+import javax.annotation.PostConstruct;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Service
 public class SubscriptionServicesImpl implements ISubscriptionServices{
 
-    private ISubscriptionRepository subscriptionRepository;
+    private static final int EXPIRY_PAGE_SIZE = 500;
 
-    private ISkierRepository skierRepository;
+    private static final String EXPIRY_JOB = "subscription-expiry";
+
+    private final ISubscriptionRepository subscriptionRepository;
+
+    private final RecurringRevenueAggregate revenueAggregate;
+
+    private final SkierEligibilityIndex skierEligibility;
+
+    private final MutationJournal mutationJournal;
+
+    private final IJobWatermarkRepository watermarkRepository;
+
+    private final Clock clock;
+
+    // Subscriptions ending on or before this date have already been reported
+    private volatile LocalDate expiryWatermark;
+
+    // Resumes from the last reported date; a first start reports only what expires from today on
+    @PostConstruct
+    void loadExpiryWatermark() {
+        expiryWatermark = watermarkRepository.findById(EXPIRY_JOB)
+                .map(JobWatermark::getWatermark)
+                .orElseGet(() -> LocalDate.now(clock).minusDays(1));
+    }
 
     @Override
     public Subscription addSubscription(Subscription subscription) {
-        switch (subscription.getTypeSub()) {
-            case ANNUAL:
-                subscription.setEndDate(subscription.getStartDate().plusYears(1));
-                break;
-            case SEMESTRIEL:
-                subscription.setEndDate(subscription.getStartDate().plusMonths(6));
-                break;
-            case MONTHLY:
-                subscription.setEndDate(subscription.getStartDate().plusMonths(1));
-                break;
-        }
-        return subscriptionRepository.save(subscription);
+        SubscriptionTerms.applyEndDate(subscription);
+        Subscription savedSubscription = subscriptionRepository.save(subscription);
+        revenueAggregate.add(savedSubscription.getTypeSub(), savedSubscription.getPrice());
+        mutationJournal.append(EntityType.SUBSCRIPTION, MutationOp.CREATE, savedSubscription.getNumSub());
+        return savedSubscription;
     }
 
     @Override
     public Subscription updateSubscription(Subscription subscription) {
-        return subscriptionRepository.save(subscription);
+        Subscription previous = subscription.getNumSub() == null ? null
+                : subscriptionRepository.findById(subscription.getNumSub()).orElse(null);
+        TypeSubscription previousType = previous == null ? null : previous.getTypeSub();
+        Float previousPrice = previous == null ? null : previous.getPrice();
+
+        Subscription updatedSubscription = subscriptionRepository.save(subscription);
+        revenueAggregate.remove(previousType, previousPrice);
+        revenueAggregate.add(updatedSubscription.getTypeSub(), updatedSubscription.getPrice());
+        skierEligibility.refreshSubscription(updatedSubscription.getNumSub());
+        mutationJournal.append(EntityType.SUBSCRIPTION, MutationOp.UPDATE, updatedSubscription.getNumSub());
+        return updatedSubscription;
     }
 
     @Override
-    public Subscription retrieveSubscriptionById(Long numSubscription) {
-        return subscriptionRepository.findById(numSubscription).orElse(null);
+    @Transactional(readOnly = true)
+    public SubscriptionView retrieveSubscriptionById(Long numSubscription) {
+        return subscriptionRepository.findViewById(numSubscription).orElse(null);
     }
 
     @Override
-    public Set<Subscription> getSubscriptionByType(TypeSubscription type) {
-        return subscriptionRepository.findByTypeSubOrderByStartDateAsc(type);
+    @Transactional(readOnly = true)
+    public Set<SubscriptionView> getSubscriptionByType(TypeSubscription type) {
+        return subscriptionRepository.findViewsByTypeSubOrderByStartDateAsc(type);
     }
 
     @Override
-    public List<Subscription> retrieveSubscriptionsByDates(LocalDate startDate, LocalDate endDate) {
-        return subscriptionRepository.getSubscriptionsByStartDateBetween(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<SubscriptionView> retrieveSubscriptionsByDates(LocalDate startDate, LocalDate endDate) {
+        return subscriptionRepository.findViewsByStartDateBetween(startDate, endDate);
     }
 
     @Override
     @Scheduled(cron = "*/30 * * * * *") /* Cron expression to run a job every 30 secondes */
     public void retrieveSubscriptions() {
-        for (Subscription sub: subscriptionRepository.findDistinctOrderByEndDateAsc()) {
-            Skier   aSkier = skierRepository.findBySubscription(sub);
-            log.info(sub.getNumSub().toString() + " | "+ sub.getEndDate().toString()
-                    + " | "+ aSkier.getFirstName() + " " + aSkier.getLastName());
+        LocalDate today = LocalDate.now(clock);
+        if (!today.isAfter(expiryWatermark)) {
+            return;
         }
+        Pageable page = PageRequest.of(0, EXPIRY_PAGE_SIZE);
+        Slice<ExpiredSubscription> expired;
+        do {
+            expired = subscriptionRepository.findExpiredBetween(expiryWatermark, today, page);
+            for (ExpiredSubscription sub : expired) {
+                log.info("{} | {} | {} {}", sub.getNumSub(), sub.getEndDate(), sub.getFirstName(), sub.getLastName());
+            }
+            page = expired.nextPageable();
+        } while (expired.hasNext());
+        watermarkRepository.save(new JobWatermark(EXPIRY_JOB, today));
+        expiryWatermark = today;
     }
 
-    // @Scheduled(cron = "* 0 9 1 * *") /* Cron expression to run a job every month at 9am */
-    @Scheduled(cron = "*/30 * * * * *") /* Cron expression to run a job every 30 secondes */
-    public void showMonthlyRecurringRevenue() {
-        Float revenue = subscriptionRepository.recurringRevenueByTypeSubEquals(TypeSubscription.MONTHLY)
-                + subscriptionRepository.recurringRevenueByTypeSubEquals(TypeSubscription.SEMESTRIEL)/6
-                + subscriptionRepository.recurringRevenueByTypeSubEquals(TypeSubscription.ANNUAL)/12;
-        log.info("Monthly Revenue = " + revenue);
+    @Override
+    public MonthlyRecurringRevenue getMonthlyRecurringRevenue() {
+        return revenueAggregate.current();
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package tn.esprit.spring.services;
+
+import tn.esprit.spring.entities.Subscription;
+
+final class SubscriptionTerms {
+
+    private SubscriptionTerms() {
+    }
+
+    static void applyEndDate(Subscription subscription) {
+        switch (subscription.getTypeSub()) {
+            case ANNUAL:
+                subscription.setEndDate(subscription.getStartDate().plusYears(1));
+                break;
+            case SEMESTRIEL:
+                subscription.setEndDate(subscription.getStartDate().plusMonths(6));
+                break;
+            case MONTHLY:
+                subscription.setEndDate(subscription.getStartDate().plusMonths(1));
+                break;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package tn.esprit.spring.services.journal;
+
+public enum EntityType {
+    SKIER, SUBSCRIPTION, COURSE, INSTRUCTOR, PISTE, REGISTRATION
+}
@@ -0,0 +1,16 @@
+package tn.esprit.spring.services.journal;
+
+import lombok.Value;
+
+/**
+ * One journal record. The sequence number is global and strictly increasing, so it doubles as the
+ * version of the entity after this mutation.
+ */
+@Value
+public class Mutation {
+    long sequence;
+    EntityType entityType;
+    MutationOp op;
+    long id;
+    long timestamp;
+}
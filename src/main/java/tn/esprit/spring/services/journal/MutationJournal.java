@@ -0,0 +1,243 @@
+package tn.esprit.spring.services.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only log of entity mutations in a memory-mapped ring of fixed 32-byte records:
+ * {@code sequence(8) | entity type(1) | op(1) | padding(6) | id(8) | timestamp millis(8)}.
+ * A record is published by writing its sequence last with release semantics, and readers re-check the
+ * sequence after reading (seqlock style), so tailers never see a torn record. Mutations made inside a
+ * transaction are appended after commit. Each {@link MutationListener} bean is fed by its own tailer thread.
+ * The file is locked for the lifetime of the journal, so a second process pointed at the same path fails
+ * at startup instead of interleaving its records.
+ */
+@Slf4j
+@Component
+public class MutationJournal {
+
+    static final int RECORD_SIZE = 32;
+
+    private static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+    private static final MutationOp[] OPS = MutationOp.values();
+    private static final Mutation OVERRUN = new Mutation(-1, EntityType.SKIER, MutationOp.UPDATE, -1, -1);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final List<Tailer> tailers;
+    private final AtomicLongArray versions = new AtomicLongArray(ENTITY_TYPES.length);
+    private volatile long head;
+    private volatile boolean running;
+
+    @Autowired
+    public MutationJournal(@Value("${app.journal.path:${java.io.tmpdir}/gestion-station-ski/mutations.journal}") String path,
+                           @Value("${app.journal.capacity:262144}") int capacity,
+                           ObjectProvider<MutationListener> listeners) {
+        this(Paths.get(path), capacity, listeners.orderedStream().collect(Collectors.toList()));
+    }
+
+    MutationJournal(Path path, int capacity, List<MutationListener> listeners) {
+        this.capacity = capacity;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            lockOrClose(channel, path);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map mutation journal " + path, e);
+        }
+        this.head = recoverHead();
+        this.tailers = listeners.stream().map(Tailer::new).collect(Collectors.toList());
+    }
+
+    // The lock is released when stop() closes the channel
+    private static void lockOrClose(FileChannel channel, Path path) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IllegalStateException("Mutation journal " + path
+                    + " is already in use; give each instance its own app.journal.path");
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Tailer tailer : tailers) {
+            Thread thread = new Thread(tailer, "mutation-tailer-" + tailer.listener.getClass().getSimpleName());
+            thread.setDaemon(true);
+            tailer.thread = thread;
+            thread.start();
+        }
+        log.info("Mutation journal at sequence {} with {} listeners", head, tailers.size());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        for (Tailer tailer : tailers) {
+            if (tailer.thread != null) {
+                LockSupport.unpark(tailer.thread);
+            }
+        }
+        buffer.force();
+        channel.close();
+    }
+
+    public void append(EntityType entityType, MutationOp op, Long id) {
+        if (id == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(entityType, op, id);
+                }
+            });
+        } else {
+            write(entityType, op, id);
+        }
+    }
+
+    public long head() {
+        return head;
+    }
+
+    /**
+     * Sequence of the last committed mutation of this entity type since startup, 0 if there was none.
+     */
+    public long version(EntityType entityType) {
+        return versions.get(entityType.ordinal());
+    }
+
+    private synchronized void write(EntityType entityType, MutationOp op, long id) {
+        long sequence = head + 1;
+        int offset = offset(sequence);
+        // Invalidate the slot first so a lagging reader cannot pair the old sequence with the new body
+        SEQUENCE.setVolatile(buffer, offset, 0L);
+        VarHandle.storeStoreFence();
+        buffer.put(offset + 8, (byte) entityType.ordinal());
+        buffer.put(offset + 9, (byte) op.ordinal());
+        buffer.putLong(offset + 16, id);
+        buffer.putLong(offset + 24, System.currentTimeMillis());
+        SEQUENCE.setRelease(buffer, offset, sequence);
+        versions.set(entityType.ordinal(), sequence);
+        head = sequence;
+        for (Tailer tailer : tailers) {
+            tailer.wake();
+        }
+    }
+
+    /**
+     * Reads the record with the given sequence: null when it is not written yet,
+     * {@link #OVERRUN} when the ring has already reused its slot.
+     */
+    Mutation read(long sequence) {
+        int offset = offset(sequence);
+        long published = (long) SEQUENCE.getAcquire(buffer, offset);
+        if (published < sequence) {
+            return sequence <= head ? OVERRUN : null;
+        }
+        if (published > sequence) {
+            return OVERRUN;
+        }
+        Mutation mutation = new Mutation(sequence, ENTITY_TYPES[buffer.get(offset + 8)], OPS[buffer.get(offset + 9)],
+                buffer.getLong(offset + 16), buffer.getLong(offset + 24));
+        VarHandle.loadLoadFence();
+        return (long) SEQUENCE.getAcquire(buffer, offset) == sequence ? mutation : OVERRUN;
+    }
+
+    private int offset(long sequence) {
+        return (int) ((sequence - 1) % capacity) * RECORD_SIZE;
+    }
+
+    private long recoverHead() {
+        long last = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            last = Math.max(last, (long) SEQUENCE.getAcquire(buffer, slot * RECORD_SIZE));
+        }
+        return last;
+    }
+
+    private final class Tailer implements Runnable {
+
+        private final MutationListener listener;
+        private volatile Thread thread;
+        private long position = head;
+
+        private Tailer(MutationListener listener) {
+            this.listener = listener;
+        }
+
+        void wake() {
+            Thread waiting = thread;
+            if (waiting != null) {
+                LockSupport.unpark(waiting);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Mutation mutation = read(position + 1);
+                if (mutation == null) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else if (mutation == OVERRUN) {
+                    log.warn("{} fell behind the mutation journal at sequence {}, resynchronising",
+                            listener.getClass().getSimpleName(), position);
+                    position = head;
+                    deliver(listener::onOverrun);
+                } else {
+                    position = mutation.getSequence();
+                    deliver(() -> listener.onMutation(mutation));
+                }
+            }
+        }
+
+        private void deliver(Runnable callback) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                log.error("Mutation listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
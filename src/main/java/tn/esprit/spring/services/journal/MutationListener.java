@@ -0,0 +1,14 @@
+package tn.esprit.spring.services.journal;
+
+/**
+ * In-process subscriber of the {@link MutationJournal}. Every listener bean gets its own tailer thread
+ * and sees the mutations committed after startup, in journal order.
+ */
+public interface MutationListener {
+
+    void onMutation(Mutation mutation);
+
+    // Called when the listener fell more than the journal capacity behind and missed records
+    default void onOverrun() {
+    }
+}
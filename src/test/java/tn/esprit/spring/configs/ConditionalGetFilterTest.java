@@ -0,0 +1,118 @@
+package tn.esprit.spring.configs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+
+import javax.servlet.Servlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Conditional GET Filter Tests")
+class ConditionalGetFilterTest {
+
+    @Mock
+    private MutationJournal mutationJournal;
+
+    private ConditionalGetFilter filter;
+
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConditionalGetFilter(mutationJournal)
+                .register("/course/all", CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic(),
+                        EntityType.COURSE, EntityType.INSTRUCTOR);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without reaching the controller when the tag still matches")
+    void shouldAnswerNotModified() throws Exception {
+        // Arrange
+        when(mutationJournal.version(EntityType.COURSE)).thenReturn(4L);
+        MockHttpServletResponse first = get(null);
+
+        // Act
+        MockHttpServletResponse second = get(first.getHeader(HttpHeaders.ETAG));
+
+        // Assert
+        assertAll(
+                () -> assertEquals(200, first.getStatus()),
+                () -> assertEquals("max-age=30, public", first.getHeader(HttpHeaders.CACHE_CONTROL)),
+                () -> assertEquals(304, second.getStatus()),
+                () -> assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG)),
+                () -> assertEquals(1, controllerCalls.get())
+        );
+    }
+
+    @Test
+    @DisplayName("Should change the tag when a dependent entity type is written")
+    void shouldChangeTagOnWrite() throws Exception {
+        // Arrange
+        String etag = get(null).getHeader(HttpHeaders.ETAG);
+        when(mutationJournal.version(EntityType.COURSE)).thenReturn(0L);
+        when(mutationJournal.version(EntityType.INSTRUCTOR)).thenReturn(9L);
+
+        // Act
+        MockHttpServletResponse response = get(etag);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(200, response.getStatus()),
+                () -> assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG)),
+                () -> assertEquals(2, controllerCalls.get())
+        );
+    }
+
+    @Test
+    @DisplayName("Should leave other paths alone")
+    void shouldIgnoreOtherPaths() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/course/page");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain(controller()));
+
+        // Assert
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        verifyNoInteractions(mutationJournal);
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/course/all");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(controller()));
+        return response;
+    }
+
+    private Servlet controller() {
+        return new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                controllerCalls.incrementAndGet();
+                resp.setStatus(200);
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package tn.esprit.spring.configs;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import tn.esprit.spring.services.IPisteServices;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Service Metrics Aspect Tests")
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IPisteServices target;
+    private IPisteServices pisteServices;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = mock(IPisteServices.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        pisteServices = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should time successful service calls per method")
+    void shouldTimeSuccessfulCalls() {
+        // Act
+        pisteServices.retrievePiste(1L);
+        pisteServices.retrievePiste(2L);
+
+        // Assert
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("method", "retrievePiste", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    @DisplayName("Should tag failed service calls with the exception and rethrow it")
+    void shouldTagFailedCalls() {
+        // Arrange
+        doThrow(new IllegalStateException("boom")).when(target).removePiste(3L);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> pisteServices.removePiste(3L));
+
+        // Assert
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("method", "removePiste", "exception", "IllegalStateException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
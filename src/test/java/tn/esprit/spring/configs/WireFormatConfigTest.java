@@ -0,0 +1,151 @@
+package tn.esprit.spring.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import tn.esprit.spring.entities.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Wire Format Config Tests")
+class WireFormatConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final List<HttpMessageConverter<?>> converters = new ArrayList<>();
+
+    private ObjectMapper json;
+    private MappingJackson2SmileHttpMessageConverter defaultSmile;
+    private MappingJackson2CborHttpMessageConverter defaultCbor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        json = builder().build();
+        defaultSmile = new MappingJackson2SmileHttpMessageConverter();
+        defaultCbor = new MappingJackson2CborHttpMessageConverter();
+        // The defaults MVC registers itself when the Smile and CBOR jars are present
+        converters.add(new MappingJackson2HttpMessageConverter(json));
+        converters.add(defaultSmile);
+        converters.add(defaultCbor);
+        ObjectProvider<Jackson2ObjectMapperBuilder> builders = mock(ObjectProvider.class);
+        when(builders.getObject()).thenAnswer(invocation -> builder());
+        new WireFormatConfig(builders).extendMessageConverters(converters);
+    }
+
+    @ParameterizedTest(name = "{0} round-trips through {1}")
+    @MethodSource("entitiesAndFormats")
+    @DisplayName("Should round-trip every entity through Smile and CBOR")
+    void shouldRoundTripEntities(String name, MediaType format, Object entity) throws Exception {
+        // Arrange
+        ObjectMapper binary = mapperFor(format);
+
+        // Act
+        byte[] encoded = binary.writeValueAsBytes(entity);
+        Object decoded = binary.readValue(encoded, entity.getClass());
+
+        // Assert
+        assertEquals(json.valueToTree(entity), json.valueToTree(decoded), name + " changed on the way through " + format);
+    }
+
+    @Test
+    @DisplayName("Should keep JSON first so clients accepting anything still get JSON")
+    void shouldKeepJsonFirst() {
+        // Assert
+        assertAll(
+                () -> assertEquals(3, converters.size()),
+                () -> assertTrue(converters.get(0).getSupportedMediaTypes().contains(MediaType.APPLICATION_JSON)),
+                () -> assertTrue(converters.get(1).getSupportedMediaTypes().contains(SMILE)),
+                () -> assertTrue(converters.get(2).getSupportedMediaTypes().contains(MediaType.APPLICATION_CBOR))
+        );
+    }
+
+    @Test
+    @DisplayName("Should replace the default binary converters instead of appending after them")
+    void shouldReplaceDefaultConverters() {
+        // Assert
+        assertAll(
+                () -> assertFalse(converters.contains(defaultSmile)),
+                () -> assertFalse(converters.contains(defaultCbor)),
+                () -> assertFalse(mapperFor(SMILE).isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)),
+                () -> assertFalse(mapperFor(MediaType.APPLICATION_CBOR).isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS))
+        );
+    }
+
+    private ObjectMapper mapperFor(MediaType format) {
+        return converters.stream()
+                .filter(converter -> converter.getSupportedMediaTypes().contains(format))
+                .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static Stream<Arguments> entitiesAndFormats() {
+        Subscription subscription = new Subscription(3L, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1), 900f, TypeSubscription.ANNUAL);
+
+        Instructor instructor = new Instructor();
+        instructor.setNumInstructor(4L);
+        instructor.setFirstName("Anna");
+        instructor.setLastName("Berg");
+        instructor.setDateOfHire(LocalDate.of(2019, 12, 1));
+
+        Course course = new Course();
+        course.setNumCourse(5L);
+        course.setLevel(2);
+        course.setPrice(120f);
+        course.setTypeCourse(TypeCourse.COLLECTIVE_ADULT);
+        course.setSupport(Support.SNOWBOARD);
+        course.setInstructor(instructor);
+
+        Registration registration = new Registration();
+        registration.setNumRegistration(6L);
+        registration.setNumWeek(7);
+
+        Skier skier = new Skier();
+        skier.setNumSkier(1L);
+        skier.setFirstName("Nour");
+        skier.setLastName("Saidi");
+        skier.setDateOfBirth(LocalDate.of(1998, 4, 12));
+        skier.setCity("Ain Draham");
+        skier.setSubscription(subscription);
+        skier.setRegistrations(Set.of(registration));
+
+        Piste piste = new Piste();
+        piste.setNumPiste(2L);
+        piste.setNamePiste("Black Run");
+        piste.setColor(Color.BLACK);
+        piste.setLength(1200);
+        piste.setSlope(35);
+        piste.setSkiers(Set.of(skier));
+
+        List<Object> entities = List.of(skier, subscription, registration, course, instructor, piste);
+        return Stream.of(SMILE, MediaType.APPLICATION_CBOR)
+                .flatMap(format -> entities.stream()
+                        .map(entity -> Arguments.of(entity.getClass().getSimpleName(), format, entity)));
+    }
+}
@@ -0,0 +1,106 @@
+package tn.esprit.spring.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import tn.esprit.spring.services.IRegistrationServices;
+import tn.esprit.spring.services.RegistrationIntake;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RegistrationRestController.class)
+@DisplayName("Registration Rest Controller Tests")
+class RegistrationRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IRegistrationServices registrationServices;
+
+    @MockBean
+    private RegistrationIntake registrationIntake;
+
+    @Test
+    @DisplayName("Should answer 400 for a batch over the size cap")
+    void shouldRejectOversizedBatch() throws Exception {
+        // Arrange
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= IRegistrationServices.MAX_BATCH_SIZE; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"numSkier\":1,\"numCourse\":1,\"numWeek\":7}");
+        }
+        body.append(']');
+
+        // Act & Assert
+        mockMvc.perform(post("/registration/batch").contentType(MediaType.APPLICATION_JSON).content(body.toString()))
+                .andExpect(status().isBadRequest());
+        verify(registrationServices, never()).addRegistrationsInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for a null or incomplete row")
+    void shouldRejectInvalidRows() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/registration/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"numSkier\":1,\"numCourse\":1,\"numWeek\":7},null]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/registration/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"numCourse\":1,\"numWeek\":7}]"))
+                .andExpect(status().isBadRequest());
+        verify(registrationServices, never()).addRegistrationsInBatch(anyList());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 54})
+    @DisplayName("Should answer 400 for a week outside 1..53")
+    void shouldRejectOutOfRangeWeek(int numWeek) throws Exception {
+        // Arrange
+        String request = "{\"numSkier\":1,\"numCourse\":1,\"numWeek\":" + numWeek + "}";
+
+        // Act & Assert
+        mockMvc.perform(post("/registration/batch").contentType(MediaType.APPLICATION_JSON).content("[" + request + "]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/registration/async").contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/registration/addAndAssignToSkier/1").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"numWeek\":" + numWeek + "}"))
+                .andExpect(status().isBadRequest());
+        verify(registrationServices, never()).addRegistrationsInBatch(anyList());
+        verify(registrationServices, never()).addRegistrationAndAssignToSkier(any(), any());
+        verifyNoInteractions(registrationIntake);
+    }
+
+    @Test
+    @DisplayName("Should answer 400 when the service refuses the batch")
+    void shouldMapRefusedBatchToBadRequest() throws Exception {
+        // Arrange
+        when(registrationServices.addRegistrationsInBatch(anyList()))
+                .thenThrow(new IllegalArgumentException("At most 500 registrations per batch"));
+
+        // Act & Assert
+        mockMvc.perform(post("/registration/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"numSkier\":1,\"numCourse\":1,\"numWeek\":7}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should pass a valid batch to the service")
+    void shouldAcceptValidBatch() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/registration/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"numSkier\":1,\"numCourse\":1,\"numWeek\":7}]"))
+                .andExpect(status().isOk());
+        verify(registrationServices).addRegistrationsInBatch(anyList());
+    }
+}
@@ -0,0 +1,101 @@
+package tn.esprit.spring.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tn.esprit.spring.dto.KeysetPage;
+import tn.esprit.spring.dto.SkierView;
+import tn.esprit.spring.services.ISkierServices;
+import tn.esprit.spring.services.KeysetCursor;
+import tn.esprit.spring.services.SkierImporter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SkierRestController.class)
+@DisplayName("Skier Rest Controller Tests")
+class SkierRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ISkierServices skierServices;
+
+    @MockBean
+    private SkierImporter skierImporter;
+
+    @Test
+    @DisplayName("Should answer 400 for an invalid cursor")
+    void shouldRejectInvalidCursor() throws Exception {
+        // Arrange
+        when(skierServices.retrieveSkiersPage(eq("%%%"), anyInt())).thenThrow(new IllegalArgumentException("Invalid cursor: %%%"));
+
+        // Act & Assert
+        mockMvc.perform(get("/skier/page").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return the page with its next cursor")
+    void shouldReturnPage() throws Exception {
+        // Arrange
+        KeysetPage<SkierView> page = KeysetCursor.page(List.of(skier(1L), skier(2L)), 2, SkierView::getNumSkier);
+        when(skierServices.retrieveSkiersPage(null, 2)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/skier/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(KeysetCursor.encode(2L)));
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON document per line")
+    void shouldStreamNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<SkierView> consumer = invocation.getArgument(0);
+            consumer.accept(skier(1L));
+            consumer.accept(skier(2L));
+            return null;
+        }).when(skierServices).streamAllSkiers(any());
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/skier/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonStreams.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertEquals('\n', body.charAt(body.length() - 1));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("numSkier").asLong());
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("numSkier").asLong());
+    }
+
+    private static SkierView skier(Long numSkier) {
+        return new SkierView(numSkier, "First" + numSkier, "Last" + numSkier, null, "Tunis", null, List.of());
+    }
+}
@@ -1,6 +1,10 @@
 package tn.esprit.spring.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,7 +14,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import tn.esprit.spring.dto.SubscriptionView;
 import tn.esprit.spring.entities.Subscription;
 import tn.esprit.spring.entities.TypeSubscription;
 import tn.esprit.spring.services.ISubscriptionServices;
@@ -22,6 +29,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,8 +45,15 @@ class SubscriptionRestControllerTest {
     @MockBean
     private ISubscriptionServices subscriptionServices;
 
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    private ObjectMapper bootObjectMapper;
+
     private ObjectMapper objectMapper;
     private Subscription testSubscription;
+    private SubscriptionView testSubscriptionView;
 
     @BeforeEach
     void setUp() {
@@ -51,6 +66,8 @@ class SubscriptionRestControllerTest {
         testSubscription.setEndDate(LocalDate.now().plusMonths(1));
         testSubscription.setPrice(100.0f);
         testSubscription.setTypeSub(TypeSubscription.MONTHLY);
+        testSubscriptionView = new SubscriptionView(1L, testSubscription.getStartDate(), testSubscription.getEndDate(),
+                100.0f, TypeSubscription.MONTHLY);
     }
 
     @Nested
@@ -114,7 +131,7 @@ class SubscriptionRestControllerTest {
         @DisplayName("Should get subscription by ID")
         void shouldGetSubscriptionById() throws Exception {
             when(subscriptionServices.retrieveSubscriptionById(1L))
-                    .thenReturn(testSubscription);
+                    .thenReturn(testSubscriptionView);
 
             mockMvc.perform(get("/api/v1/subscriptions/{id}", 1))
                     .andDo(print())
@@ -126,6 +143,57 @@ class SubscriptionRestControllerTest {
             verify(subscriptionServices).retrieveSubscriptionById(1L);
         }
 
+        @Test
+        @DisplayName("Should serve subscription as Smile when the client asks for it")
+        void shouldServeSmile() throws Exception {
+            when(subscriptionServices.retrieveSubscriptionById(1L))
+                    .thenReturn(testSubscriptionView);
+
+            byte[] body = mockMvc.perform(get("/api/v1/subscriptions/{id}", 1)
+                            .accept("application/x-jackson-smile"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-jackson-smile"))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode subscription = new ObjectMapper(new SmileFactory()).readTree(body);
+            assertEquals(1L, subscription.get("numSub").asLong());
+            assertEquals("MONTHLY", subscription.get("typeSub").asText());
+            assertEquals(testSubscriptionView.getStartDate().toString(), subscription.get("startDate").asText(),
+                    "Smile must use the JSON mapper's ISO date setting");
+        }
+
+        @Test
+        @DisplayName("Should serve subscription as CBOR with the JSON mapper's date format")
+        void shouldServeCbor() throws Exception {
+            when(subscriptionServices.retrieveSubscriptionById(1L))
+                    .thenReturn(testSubscriptionView);
+
+            byte[] body = mockMvc.perform(get("/api/v1/subscriptions/{id}", 1)
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode subscription = new ObjectMapper(new CBORFactory()).readTree(body);
+            assertEquals(1L, subscription.get("numSub").asLong());
+            assertEquals(testSubscriptionView.getStartDate().toString(), subscription.get("startDate").asText());
+        }
+
+        @Test
+        @DisplayName("Should negotiate binary formats with mappers built like the JSON one")
+        void shouldResolveConfiguredBinaryConverters() {
+            for (MediaType format : Arrays.asList(MediaType.parseMediaType("application/x-jackson-smile"), MediaType.APPLICATION_CBOR)) {
+                ObjectMapper mapper = handlerAdapter.getMessageConverters().stream()
+                        .filter(converter -> converter.canWrite(SubscriptionView.class, format))
+                        .map(converter -> ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper())
+                        .findFirst()
+                        .orElseThrow();
+                assertEquals(bootObjectMapper.getRegisteredModuleIds(), mapper.getRegisteredModuleIds(), format.toString());
+                assertEquals(bootObjectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+                        mapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS), format.toString());
+            }
+        }
+
         @Test
         @DisplayName("Should return 404 when subscription not found")
         void shouldReturn404WhenNotFound() throws Exception {
@@ -142,7 +210,7 @@ class SubscriptionRestControllerTest {
         @Test
         @DisplayName("Should get subscriptions by type")
         void shouldGetSubscriptionsByType() throws Exception {
-            Set<Subscription> subscriptions = new HashSet<>(Collections.singletonList(testSubscription));
+            Set<SubscriptionView> subscriptions = new HashSet<>(Collections.singletonList(testSubscriptionView));
             when(subscriptionServices.getSubscriptionByType(TypeSubscription.MONTHLY))
                     .thenReturn(subscriptions);
 
@@ -162,7 +230,7 @@ class SubscriptionRestControllerTest {
             LocalDate startDate = LocalDate.now();
             LocalDate endDate = LocalDate.now().plusMonths(1);
             when(subscriptionServices.retrieveSubscriptionsByDates(startDate, endDate))
-                    .thenReturn(Arrays.asList(testSubscription));
+                    .thenReturn(Arrays.asList(testSubscriptionView));
 
             mockMvc.perform(get("/api/v1/subscriptions/by-date-range")
                             .param("startDate", startDate.toString())
@@ -233,7 +301,7 @@ class SubscriptionRestControllerTest {
         @DisplayName("Should delete existing subscription")
         void shouldDeleteExistingSubscription() throws Exception {
             when(subscriptionServices.retrieveSubscriptionById(1L))
-                    .thenReturn(testSubscription);
+                    .thenReturn(testSubscriptionView);
 
             mockMvc.perform(delete("/api/v1/subscriptions/{id}", 1))
                     .andDo(print())
@@ -0,0 +1,194 @@
+package tn.esprit.spring.repositories;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.PisteView;
+import tn.esprit.spring.dto.SkierView;
+import tn.esprit.spring.dto.SubscriptionView;
+import tn.esprit.spring.entities.*;
+import tn.esprit.spring.services.ReadModelAssembler;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("Read Model Projection Tests")
+class ReadModelProjectionTest {
+
+    @Autowired
+    private ISkierRepository skierRepository;
+
+    @Autowired
+    private ICourseRepository courseRepository;
+
+    @Autowired
+    private IPisteRepository pisteRepository;
+
+    @Autowired
+    private IRegistrationRepository registrationRepository;
+
+    @Autowired
+    private ISubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should project a skier with and without a subscription")
+    void shouldProjectSkier() {
+        // Arrange
+        Subscription subscription = new Subscription();
+        subscription.setTypeSub(TypeSubscription.ANNUAL);
+        subscription.setStartDate(LocalDate.of(2024, 1, 1));
+        subscription.setEndDate(LocalDate.of(2025, 1, 1));
+        subscription.setPrice(900f);
+        Skier subscribed = persistSkier("Nour", subscription);
+        Skier unsubscribed = persistSkier("Omar", null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        SkierView withSubscription = skierRepository.findViewById(subscribed.getNumSkier()).orElse(null);
+        SkierView withoutSubscription = skierRepository.findViewById(unsubscribed.getNumSkier()).orElse(null);
+
+        // Assert
+        assertAll(
+                () -> assertNotNull(withSubscription),
+                () -> assertEquals("Nour", withSubscription.getFirstName()),
+                () -> assertEquals(TypeSubscription.ANNUAL, withSubscription.getSubscription().getTypeSub()),
+                () -> assertEquals(LocalDate.of(2025, 1, 1), withSubscription.getSubscription().getEndDate()),
+                () -> assertNotNull(withoutSubscription),
+                () -> assertNull(withoutSubscription.getSubscription()),
+                () -> assertFalse(entityManager.getEntityManager().contains(subscribed), "Projections must not load entities")
+        );
+    }
+
+    @Test
+    @DisplayName("Should project a subscription with the entity's JSON fields")
+    void shouldProjectSubscription() {
+        // Arrange
+        Subscription subscription = new Subscription();
+        subscription.setTypeSub(TypeSubscription.MONTHLY);
+        subscription.setStartDate(LocalDate.of(2024, 2, 1));
+        subscription.setEndDate(LocalDate.of(2024, 3, 1));
+        subscription.setPrice(90f);
+        entityManager.persist(subscription);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        SubscriptionView view = subscriptionRepository.findViewById(subscription.getNumSub()).orElse(null);
+        JsonNode json = new ObjectMapper().findAndRegisterModules().valueToTree(view);
+
+        // Assert
+        assertAll(
+                () -> assertNotNull(view),
+                () -> assertEquals(Set.of("numSub", "startDate", "endDate", "price", "typeSub"), fieldNames(json)),
+                () -> assertEquals(1, subscriptionRepository.findViewsByTypeSubOrderByStartDateAsc(TypeSubscription.MONTHLY).size()),
+                () -> assertEquals(1, subscriptionRepository.findViewsByStartDateBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)).size()),
+                () -> assertFalse(entityManager.getEntityManager().contains(subscription), "Projections must not load entities")
+        );
+    }
+
+    @Test
+    @DisplayName("Should attach skier registrations and piste skiers like the entity JSON did")
+    void shouldAttachChildCollections() {
+        // Arrange
+        Piste piste = new Piste();
+        piste.setNamePiste("Rouge");
+        piste.setColor(Color.RED);
+        entityManager.persist(piste);
+        Piste empty = new Piste();
+        empty.setNamePiste("Verte");
+        empty.setColor(Color.GREEN);
+        entityManager.persist(empty);
+        Skier skier = persistSkier("Nour", null);
+        skier.setPistes(Set.of(piste));
+        Registration registration = new Registration();
+        registration.setNumWeek(7);
+        registration.setSkier(skier);
+        entityManager.persist(registration);
+        entityManager.flush();
+        entityManager.clear();
+        ReadModelAssembler assembler = new ReadModelAssembler(registrationRepository, pisteRepository);
+
+        // Act
+        List<PisteView> pistes = assembler.withSkiers(pisteRepository.findAllSnapshots());
+        JsonNode json = new ObjectMapper().findAndRegisterModules().valueToTree(pistes);
+
+        // Assert
+        JsonNode skierJson = json.get(0).get("skiers").get(0);
+        assertAll(
+                () -> assertEquals(2, pistes.size()),
+                () -> assertEquals(0, json.get(1).get("skiers").size()),
+                () -> assertEquals("Nour", skierJson.get("firstName").asText()),
+                () -> assertEquals(7, skierJson.get("registrations").get(0).get("numWeek").asInt()),
+                () -> assertEquals(Set.of("numRegistration", "numWeek"), fieldNames(skierJson.get("registrations").get(0))),
+                () -> assertEquals(Set.of("numSkier", "firstName", "lastName", "dateOfBirth", "city", "subscription", "registrations"),
+                        fieldNames(skierJson))
+        );
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    @Test
+    @DisplayName("Should page course snapshots by id with their instructor")
+    void shouldPageCourseSnapshots() {
+        // Arrange
+        Instructor instructor = new Instructor();
+        instructor.setFirstName("Anna");
+        instructor.setLastName("Berg");
+        instructor.setDateOfHire(LocalDate.of(2020, 1, 1));
+        entityManager.persist(instructor);
+        Course first = persistCourse(instructor);
+        Course second = persistCourse(null);
+        Course third = persistCourse(instructor);
+        entityManager.flush();
+
+        // Act
+        List<CourseSnapshot> page = courseRepository.findSnapshotsAfter(first.getNumCourse(), PageRequest.of(0, 2));
+
+        // Assert
+        assertAll(
+                () -> assertEquals(2, page.size()),
+                () -> assertEquals(second.getNumCourse(), page.get(0).getNumCourse()),
+                () -> assertNull(page.get(0).getInstructor()),
+                () -> assertEquals(third.getNumCourse(), page.get(1).getNumCourse()),
+                () -> assertEquals("Berg", page.get(1).getInstructor().getLastName())
+        );
+    }
+
+    private Skier persistSkier(String firstName, Subscription subscription) {
+        Skier skier = new Skier();
+        skier.setFirstName(firstName);
+        skier.setLastName("Saidi");
+        skier.setDateOfBirth(LocalDate.of(2000, 3, 3));
+        skier.setSubscription(subscription);
+        return entityManager.persist(skier);
+    }
+
+    private Course persistCourse(Instructor instructor) {
+        Course course = new Course();
+        course.setLevel(2);
+        course.setPrice(80f);
+        course.setTypeCourse(TypeCourse.INDIVIDUAL);
+        course.setSupport(Support.SNOWBOARD);
+        course.setInstructor(instructor);
+        return entityManager.persist(course);
+    }
+}
@@ -0,0 +1,55 @@
+package tn.esprit.spring.repositories;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import tn.esprit.spring.entities.Registration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Registration Batch Insert Tests")
+class RegistrationBatchInsertTest {
+
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private IRegistrationRepository registrationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should import 1000 registrations with batched statements")
+    void shouldBatchRegistrationImport() {
+        // Arrange
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Registration registration = new Registration();
+            registration.setNumWeek(i % 52 + 1);
+            registrations.add(registration);
+        }
+
+        // Act
+        registrationRepository.saveAll(registrations);
+        entityManager.flush();
+
+        // Assert
+        assertAll(
+                "Validate batched import",
+                () -> assertEquals(ROWS, statistics.getEntityInsertCount(), "Every registration should be inserted"),
+                () -> assertTrue(statistics.getPrepareStatementCount() < ROWS / 10,
+                        "Inserts and id fetches should be batched, got " + statistics.getPrepareStatementCount() + " statements")
+        );
+    }
+}
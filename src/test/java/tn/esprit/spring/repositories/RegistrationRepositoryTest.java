@@ -0,0 +1,86 @@
+package tn.esprit.spring.repositories;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import tn.esprit.spring.entities.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("Registration Repository Tests")
+class RegistrationRepositoryTest {
+
+    @Autowired
+    private IRegistrationRepository registrationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Should return each week of an instructor's courses once, in order")
+    void shouldReturnDistinctWeeksOfInstructor() {
+        // Arrange
+        Instructor instructor = persistInstructor();
+        Course ski = persistCourse(instructor, Support.SKI);
+        Course otherSki = persistCourse(instructor, Support.SKI);
+        Course snowboard = persistCourse(instructor, Support.SNOWBOARD);
+        Course otherInstructor = persistCourse(persistInstructor(), Support.SKI);
+        persistRegistration(ski, 5);
+        persistRegistration(ski, 3);
+        persistRegistration(otherSki, 3);
+        persistRegistration(snowboard, 4);
+        persistRegistration(otherInstructor, 9);
+        entityManager.flush();
+
+        // Act & Assert
+        assertEquals(Arrays.asList(3, 5),
+                registrationRepository.numWeeksCourseOfInstructorBySupport(instructor.getNumInstructor(), Support.SKI));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"IDX_REGISTRATION_COURSE_WEEK", "IDX_REGISTRATION_SKIER_WEEK_COURSE", "IDX_COURSE_INSTRUCTOR_SUPPORT"})
+    @DisplayName("Should create the lookup indexes")
+    void shouldCreateIndexes(String indexName) {
+        // Act
+        Number count = (Number) entityManager.getEntityManager()
+                .createNativeQuery("select count(*) from information_schema.indexes where upper(index_name) = ?1")
+                .setParameter(1, indexName)
+                .getSingleResult();
+
+        // Assert
+        assertTrue(count.intValue() > 0, "Missing index " + indexName);
+    }
+
+    private Instructor persistInstructor() {
+        Instructor instructor = new Instructor();
+        instructor.setFirstName("Anna");
+        instructor.setLastName("Berg");
+        instructor.setDateOfHire(LocalDate.of(2020, 1, 1));
+        return entityManager.persist(instructor);
+    }
+
+    private Course persistCourse(Instructor instructor, Support support) {
+        Course course = new Course();
+        course.setLevel(1);
+        course.setPrice(100f);
+        course.setTypeCourse(TypeCourse.COLLECTIVE_ADULT);
+        course.setSupport(support);
+        course.setInstructor(instructor);
+        return entityManager.persist(course);
+    }
+
+    private void persistRegistration(Course course, int numWeek) {
+        Registration registration = new Registration();
+        registration.setCourse(course);
+        registration.setNumWeek(numWeek);
+        entityManager.persist(registration);
+    }
+}
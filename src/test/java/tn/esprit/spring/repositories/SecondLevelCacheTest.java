@@ -0,0 +1,136 @@
+package tn.esprit.spring.repositories;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.esprit.spring.entities.*;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every repository call runs in its own session, so repeated reads can only be served by the second-level cache
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second Level Cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ICourseRepository courseRepository;
+
+    @Autowired
+    private IInstructorRepository instructorRepository;
+
+    @Autowired
+    private IRegistrationRepository registrationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Instructor instructor;
+    private Course course;
+    private final List<Registration> registrations = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        instructor = new Instructor();
+        instructor.setFirstName("Anna");
+        instructor.setLastName("Berg");
+        instructor.setDateOfHire(LocalDate.of(2020, 1, 1));
+        instructor = instructorRepository.save(instructor);
+
+        course = new Course();
+        course.setLevel(1);
+        course.setPrice(100f);
+        course.setTypeCourse(TypeCourse.COLLECTIVE_ADULT);
+        course.setSupport(Support.SKI);
+        course.setInstructor(instructor);
+        course = courseRepository.save(course);
+
+        registerForWeek(3);
+    }
+
+    // Nothing here runs in a rolled-back test transaction, so remove the committed rows before the next test class
+    @AfterEach
+    void tearDown() {
+        registrationRepository.deleteAll(registrations);
+        courseRepository.deleteById(course.getNumCourse());
+        instructorRepository.deleteById(instructor.getNumInstructor());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated course lookup without SQL")
+    void shouldServeRepeatedLookupFromCache() {
+        // Arrange
+        courseRepository.findById(course.getNumCourse());
+        statistics.clear();
+
+        // Act
+        Course cached = courseRepository.findById(course.getNumCourse()).orElse(null);
+
+        // Assert
+        assertAll(
+                "Validate cached lookup",
+                () -> assertNotNull(cached),
+                () -> assertEquals(instructor.getNumInstructor(), cached.getInstructor().getNumInstructor()),
+                () -> assertEquals(0, statistics.getPrepareStatementCount(), "Repeat lookup should not hit the database"),
+                () -> assertTrue(statistics.getSecondLevelCacheHitCount() > 0)
+        );
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated weeks query without SQL")
+    void shouldServeRepeatedQueryFromCache() {
+        // Arrange
+        List<Integer> first = registrationRepository.numWeeksCourseOfInstructorBySupport(instructor.getNumInstructor(), Support.SKI);
+        statistics.clear();
+
+        // Act
+        List<Integer> second = registrationRepository.numWeeksCourseOfInstructorBySupport(instructor.getNumInstructor(), Support.SKI);
+
+        // Assert
+        assertAll(
+                "Validate cached query",
+                () -> assertEquals(first, second),
+                () -> assertEquals(0, statistics.getPrepareStatementCount(), "Repeat query should not hit the database"),
+                () -> assertEquals(1, statistics.getQueryCacheHitCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Should see entity updates after they are cached")
+    void shouldRefreshCacheOnUpdate() {
+        // Arrange
+        courseRepository.findById(course.getNumCourse());
+        registrationRepository.numWeeksCourseOfInstructorBySupport(instructor.getNumInstructor(), Support.SKI);
+
+        // Act
+        course.setPrice(250f);
+        courseRepository.save(course);
+        registerForWeek(7);
+
+        // Assert
+        assertEquals(250f, courseRepository.findById(course.getNumCourse()).map(Course::getPrice).orElse(null));
+        assertTrue(registrationRepository.numWeeksCourseOfInstructorBySupport(instructor.getNumInstructor(), Support.SKI).contains(7));
+    }
+
+    private void registerForWeek(int numWeek) {
+        Registration registration = new Registration();
+        registration.setNumWeek(numWeek);
+        registration.setCourse(course);
+        registrations.add(registrationRepository.save(registration));
+    }
+}
@@ -0,0 +1,122 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.esprit.spring.dto.CourseAvailability;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.repositories.ICourseRepository;
+import tn.esprit.spring.repositories.IRegistrationRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.Mutation;
+import tn.esprit.spring.services.journal.MutationOp;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Course Availability Index Tests")
+class CourseAvailabilityIndexTest {
+
+    @Mock
+    private ICourseRepository courseRepository;
+
+    @Mock
+    private IRegistrationRepository registrationRepository;
+
+    private CourseCapacityLedger capacityLedger;
+
+    private CourseAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        capacityLedger = new CourseCapacityLedger(registrationRepository);
+        availabilityIndex = new CourseAvailabilityIndex(courseRepository, capacityLedger);
+        when(courseRepository.findAllSnapshots()).thenReturn(List.of(
+                course(1L, 2, TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD),
+                course(2L, 2, TypeCourse.COLLECTIVE_ADULT, Support.SKI),
+                course(3L, 3, TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD),
+                course(4L, 2, TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD),
+                course(5L, 2, TypeCourse.INDIVIDUAL, Support.SNOWBOARD)));
+        availabilityIndex.warmUp();
+    }
+
+    @Test
+    @DisplayName("Should intersect type, support and level")
+    void shouldIntersectAttributes() {
+        // Act
+        List<CourseAvailability> result = availabilityIndex.search(TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD, 2, 7);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(2, result.size()),
+                () -> assertEquals(1L, result.get(0).getNumCourse()),
+                () -> assertEquals(4L, result.get(1).getNumCourse()),
+                () -> assertEquals(CourseCapacityLedger.COLLECTIVE_COURSE_CAPACITY, result.get(0).getFreeSeats())
+        );
+    }
+
+    @Test
+    @DisplayName("Should leave out courses that are full in the requested week only")
+    void shouldExcludeFullCourses() {
+        // Arrange
+        for (int i = 0; i < CourseCapacityLedger.COLLECTIVE_COURSE_CAPACITY; i++) {
+            capacityLedger.tryReserve(1L, 7);
+        }
+        capacityLedger.tryReserve(4L, 7);
+
+        // Act
+        List<CourseAvailability> week7 = availabilityIndex.search(TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD, 2, 7);
+        List<CourseAvailability> week8 = availabilityIndex.search(TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD, 2, 8);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(1, week7.size()),
+                () -> assertEquals(4L, week7.get(0).getNumCourse()),
+                () -> assertEquals(CourseCapacityLedger.COLLECTIVE_COURSE_CAPACITY - 1, week7.get(0).getFreeSeats()),
+                () -> assertEquals(2, week8.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should treat missing criteria as any and individual courses as unlimited")
+    void shouldMatchAnyWhenCriteriaMissing() {
+        // Act
+        List<CourseAvailability> result = availabilityIndex.search(null, Support.SNOWBOARD, null, 7);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(4, result.size()),
+                () -> assertNull(result.get(3).getFreeSeats(), "Individual courses have no seat limit")
+        );
+    }
+
+    @Test
+    @DisplayName("Should follow course updates and deletions from the journal")
+    void shouldFollowJournal() {
+        // Arrange
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course(1L, 3, TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD).toEntity()));
+
+        // Act
+        availabilityIndex.onMutation(new Mutation(1, EntityType.COURSE, MutationOp.UPDATE, 1L, 0));
+        availabilityIndex.onMutation(new Mutation(2, EntityType.COURSE, MutationOp.DELETE, 4L, 0));
+
+        // Assert
+        assertAll(
+                () -> assertTrue(availabilityIndex.search(TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD, 2, 7).isEmpty()),
+                () -> assertEquals(2, availabilityIndex.search(TypeCourse.COLLECTIVE_ADULT, Support.SNOWBOARD, 3, 7).size())
+        );
+    }
+
+    private static CourseSnapshot course(Long numCourse, int level, TypeCourse typeCourse, Support support) {
+        return new CourseSnapshot(numCourse, level, 100f, typeCourse, support, null);
+    }
+}
@@ -0,0 +1,148 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tn.esprit.spring.dto.CourseWeekCount;
+import tn.esprit.spring.entities.Registration;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.repositories.IRegistrationRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Course Capacity Ledger Tests")
+class CourseCapacityLedgerTest {
+
+    @Mock
+    private IRegistrationRepository registrationRepository;
+
+    @InjectMocks
+    private CourseCapacityLedger capacityLedger;
+
+    @Test
+    @DisplayName("Should warm seat counts from the registrations table")
+    void shouldWarmFromRepository() {
+        // Arrange
+        when(registrationRepository.countGroupByCourseAndNumWeek())
+                .thenReturn(Collections.singletonList(new CourseWeekCount(1L, 7, 6L)));
+
+        // Act
+        capacityLedger.warmUp();
+
+        // Assert
+        assertAll(
+                "Validate warmed ledger",
+                () -> assertTrue(capacityLedger.isFull(1L, 7), "Course 1 should be full in week 7"),
+                () -> assertFalse(capacityLedger.isFull(1L, 8), "Course 1 should have seats in week 8"),
+                () -> assertFalse(capacityLedger.tryReserve(1L, 7), "No seat should be granted on a full course")
+        );
+        verify(registrationRepository).countGroupByCourseAndNumWeek();
+    }
+
+    @Test
+    @DisplayName("Should free a seat on release")
+    void shouldFreeSeatOnRelease() {
+        for (int i = 0; i < CourseCapacityLedger.COLLECTIVE_COURSE_CAPACITY; i++) {
+            assertTrue(capacityLedger.tryReserve(2L, 1));
+        }
+        assertFalse(capacityLedger.tryReserve(2L, 1));
+
+        capacityLedger.release(2L, 1);
+
+        assertTrue(capacityLedger.tryReserve(2L, 1), "Released seat should be available again");
+    }
+
+    @Test
+    @DisplayName("Should keep out-of-range weeks away from real weeks")
+    void shouldRejectOutOfRangeWeeks() {
+        // Arrange
+        when(registrationRepository.countGroupByCourseAndNumWeek())
+                .thenReturn(Collections.singletonList(new CourseWeekCount(4L, 65537, 6L)));
+
+        // Act
+        capacityLedger.warmUp();
+
+        // Assert
+        assertAll(
+                () -> assertEquals(0, capacityLedger.taken(4L, 1), "Week 65537 must not land on week 1"),
+                () -> assertFalse(capacityLedger.tryReserve(4L, -1)),
+                () -> assertFalse(capacityLedger.tryReserve(4L, 54)),
+                () -> assertThrows(IllegalArgumentException.class, () -> capacityLedger.record(4L, 0)),
+                () -> assertEquals(0, capacityLedger.taken(4L, 53))
+        );
+    }
+
+    @Test
+    @DisplayName("Should cap collective courses and count individual ones without a limit")
+    void shouldReserveByCourseType() {
+        for (int i = 0; i < CourseCapacityLedger.COLLECTIVE_COURSE_CAPACITY; i++) {
+            assertTrue(capacityLedger.reserve(TypeCourse.COLLECTIVE_CHILDREN, 6L, 2));
+            assertTrue(capacityLedger.reserve(TypeCourse.INDIVIDUAL, 7L, 2));
+        }
+
+        assertFalse(capacityLedger.reserve(TypeCourse.COLLECTIVE_CHILDREN, 6L, 2), "A full collective week must refuse");
+        assertTrue(capacityLedger.reserve(TypeCourse.INDIVIDUAL, 7L, 2), "Individual courses have no seat limit");
+        assertFalse(capacityLedger.reserve(TypeCourse.INDIVIDUAL, 7L, Registration.MAX_WEEK + 1), "An invalid week must refuse, not throw");
+    }
+
+    @Test
+    @DisplayName("Should only give a seat back once the transaction commits")
+    void shouldReleaseAfterCommit() {
+        capacityLedger.record(8L, 3);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            capacityLedger.releaseAfterCommit(8L, 3);
+            assertEquals(1, capacityLedger.taken(8L, 3), "The seat must stay taken until commit");
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, capacityLedger.taken(8L, 3));
+    }
+
+    @Test
+    @DisplayName("Should never overbook under concurrent reservations")
+    void shouldNeverOverbookUnderConcurrency() throws Exception {
+        int clients = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (capacityLedger.tryReserve(3L, 5)) {
+                        granted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(CourseCapacityLedger.COLLECTIVE_COURSE_CAPACITY, granted.get(), "Exactly the capacity should be granted");
+        assertEquals(CourseCapacityLedger.COLLECTIVE_COURSE_CAPACITY, capacityLedger.taken(3L, 5));
+    }
+}
@@ -0,0 +1,113 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import tn.esprit.spring.dto.RowFormat;
+import tn.esprit.spring.entities.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ExportServicesImpl.class, JacksonAutoConfiguration.class})
+@DisplayName("Export Services Tests")
+class ExportServicesImplTest {
+
+    @Autowired
+    private IExportServices exportServices;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Skier skier;
+
+    @BeforeEach
+    void setUp() {
+        skier = persistSkier(TypeSubscription.MONTHLY, LocalDate.of(2024, 1, 10));
+        persistSkier(TypeSubscription.ANNUAL, LocalDate.of(2024, 2, 1));
+        persistSkier(TypeSubscription.MONTHLY, LocalDate.of(2023, 12, 1));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should stream subscriptions as CSV with date range and type pushed into SQL")
+    void shouldExportSubscriptionsAsCsv() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportServices.exportSubscriptions(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31),
+                TypeSubscription.MONTHLY, RowFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertAll(
+                () -> assertEquals(1, rows),
+                () -> assertEquals(2, lines.length),
+                () -> assertEquals("numSub,typeSub,startDate,endDate,price,numSkier", lines[0]),
+                () -> assertTrue(lines[1].contains(",MONTHLY,2024-01-10,")),
+                () -> assertTrue(lines[1].endsWith("," + skier.getNumSkier()))
+        );
+    }
+
+    @Test
+    @DisplayName("Should stream registrations as NDJSON filtered by week range")
+    void shouldExportRegistrationsAsNdjson() throws IOException {
+        // Arrange
+        Course course = new Course();
+        course.setLevel(1);
+        course.setPrice(100f);
+        course.setTypeCourse(TypeCourse.COLLECTIVE_ADULT);
+        course.setSupport(Support.SKI);
+        entityManager.persist(course);
+        persistRegistration(course, 2);
+        persistRegistration(course, 6);
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportServices.exportRegistrations(1, 4, null, Support.SKI, RowFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertAll(
+                () -> assertEquals(1, rows),
+                () -> assertEquals(1, lines.length),
+                () -> assertTrue(lines[0].startsWith("{\"numRegistration\":")),
+                () -> assertTrue(lines[0].contains("\"numWeek\":2")),
+                () -> assertTrue(lines[0].contains("\"support\":\"SKI\""))
+        );
+    }
+
+    private Skier persistSkier(TypeSubscription typeSub, LocalDate startDate) {
+        Subscription subscription = new Subscription();
+        subscription.setTypeSub(typeSub);
+        subscription.setStartDate(startDate);
+        subscription.setEndDate(startDate.plusMonths(1));
+        subscription.setPrice(120f);
+        Skier newSkier = new Skier();
+        newSkier.setFirstName("Lina");
+        newSkier.setLastName("Mansour");
+        newSkier.setDateOfBirth(LocalDate.of(1995, 5, 5));
+        newSkier.setSubscription(subscription);
+        return entityManager.persist(newSkier);
+    }
+
+    private void persistRegistration(Course course, int numWeek) {
+        Registration registration = new Registration();
+        registration.setCourse(course);
+        registration.setSkier(skier);
+        registration.setNumWeek(numWeek);
+        entityManager.persist(registration);
+    }
+}
@@ -0,0 +1,134 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.CourseWeekCount;
+import tn.esprit.spring.dto.InstructorSnapshot;
+import tn.esprit.spring.dto.InstructorWeekLoad;
+import tn.esprit.spring.entities.Support;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.repositories.ICourseRepository;
+import tn.esprit.spring.repositories.IRegistrationRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.Mutation;
+import tn.esprit.spring.services.journal.MutationOp;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Instructor Schedule View Tests")
+class InstructorScheduleViewTest {
+
+    @Mock
+    private ICourseRepository courseRepository;
+
+    @Mock
+    private IRegistrationRepository registrationRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @InjectMocks
+    private InstructorScheduleView scheduleView;
+
+    @BeforeEach
+    void setUp() {
+        when(courseRepository.findAllSnapshots()).thenReturn(List.of(
+                course(1L, 10L, Support.SKI),
+                course(2L, 10L, Support.SNOWBOARD),
+                course(3L, 20L, Support.SKI)));
+        when(registrationRepository.countGroupByCourseAndNumWeek()).thenReturn(List.of(
+                new CourseWeekCount(1L, 7, 3L),
+                new CourseWeekCount(1L, 2, 1L),
+                new CourseWeekCount(2L, 7, 2L),
+                new CourseWeekCount(3L, 9, 4L)));
+        scheduleView.warmUp();
+    }
+
+    @Test
+    @DisplayName("Should answer busy weeks per instructor and support from the warmed view")
+    void shouldAnswerBusyWeeks() {
+        // Act
+        List<Integer> ski = scheduleView.busyWeeks(10L, Support.SKI);
+        List<Integer> snowboard = scheduleView.busyWeeks(10L, Support.SNOWBOARD);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(List.of(2, 7), ski),
+                () -> assertEquals(List.of(7), snowboard),
+                () -> assertTrue(scheduleView.busyWeeks(99L, Support.SKI).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Should count registrations and cancellations incrementally")
+    void shouldApplyRegistrations() {
+        // Act
+        scheduleView.registered(1L, 7);
+        scheduleView.unregistered(1L, 2);
+
+        // Assert
+        assertEquals(List.of(new InstructorWeekLoad(10L, Support.SKI, 7, 4), new InstructorWeekLoad(10L, Support.SNOWBOARD, 7, 2)),
+                scheduleView.schedule(10L));
+    }
+
+    @Test
+    @DisplayName("Should move a course's weeks when it gets a new instructor")
+    void shouldMoveWeeksOnReassignment() {
+        // Act
+        scheduleView.courseAssigned(3L, 10L, Support.SKI);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(List.of(2, 7, 9), scheduleView.busyWeeks(10L, Support.SKI)),
+                () -> assertTrue(scheduleView.busyWeeks(20L, Support.SKI).isEmpty()),
+                () -> assertEquals(4, scheduleView.schedules().size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should resolve courses created after warm-up and drop deleted ones")
+    void shouldFollowCourseLifecycle() {
+        // Arrange
+        when(referenceDataCache.course(4L)).thenReturn(course(4L, 20L, Support.SNOWBOARD));
+
+        // Act
+        scheduleView.registered(4L, 12);
+        scheduleView.onMutation(new Mutation(1, EntityType.COURSE, MutationOp.DELETE, 3L, 0));
+
+        // Assert
+        assertEquals(List.of(new InstructorWeekLoad(20L, Support.SNOWBOARD, 12, 1)), scheduleView.schedule(20L));
+    }
+
+    @Test
+    @DisplayName("Should ignore weeks outside the season calendar, also at warm-up")
+    void shouldIgnoreOutOfRangeWeeks() {
+        // Arrange
+        when(registrationRepository.countGroupByCourseAndNumWeek()).thenReturn(List.of(
+                new CourseWeekCount(1L, 7, 3L),
+                new CourseWeekCount(1L, Integer.MAX_VALUE, 1L)));
+
+        // Act
+        scheduleView.warmUp();
+        scheduleView.registered(1L, 0);
+        scheduleView.registered(1L, 1_000_000);
+
+        // Assert
+        assertEquals(List.of(7), scheduleView.busyWeeks(10L, Support.SKI));
+    }
+
+    private static CourseSnapshot course(Long numCourse, Long numInstructor, Support support) {
+        return new CourseSnapshot(numCourse, 1, 50f, TypeCourse.COLLECTIVE_ADULT, support,
+                new InstructorSnapshot(numInstructor, "Sami", "Ben Ali", LocalDate.of(2020, 1, 1)));
+    }
+}
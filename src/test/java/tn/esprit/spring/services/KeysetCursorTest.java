@@ -0,0 +1,78 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tn.esprit.spring.dto.KeysetPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Keyset Cursor Tests")
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should decode an encoded cursor back to the same id")
+    void shouldRoundTrip() {
+        // Act
+        String cursor = KeysetCursor.encode(123456789L);
+
+        // Assert
+        assertEquals(123456789L, KeysetCursor.decode(cursor));
+    }
+
+    @Test
+    @DisplayName("Should start from the beginning without a cursor")
+    void shouldDecodeMissingCursorToZero() {
+        // Act & Assert
+        assertEquals(0L, KeysetCursor.decode(null));
+        assertEquals(0L, KeysetCursor.decode(""));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that is not base64 or does not wrap an id")
+    void shouldRejectInvalidCursor() {
+        // Arrange
+        String notAnId = Base64.getUrlEncoder().encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(notAnId));
+    }
+
+    @Test
+    @DisplayName("Should clamp the page size between 1 and the maximum")
+    void shouldClampSize() {
+        // Act & Assert
+        assertEquals(1, KeysetCursor.clampSize(0));
+        assertEquals(1, KeysetCursor.clampSize(-5));
+        assertEquals(50, KeysetCursor.clampSize(50));
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.clampSize(KeysetCursor.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Should point the next cursor at the last id of a full page")
+    void shouldReturnNextCursorForFullPage() {
+        // Act
+        KeysetPage<Long> page = KeysetCursor.page(List.of(4L, 7L, 9L), 3, Function.identity());
+
+        // Assert
+        assertEquals(List.of(4L, 7L, 9L), page.getItems());
+        assertEquals(9L, KeysetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should return no next cursor on the last page")
+    void shouldReturnNullCursorOnLastPage() {
+        // Act
+        KeysetPage<Long> partial = KeysetCursor.page(List.of(4L, 7L), 3, Function.identity());
+        KeysetPage<Long> empty = KeysetCursor.page(List.of(), 3, Function.identity());
+
+        // Assert
+        assertNull(partial.getNextCursor());
+        assertNull(empty.getNextCursor());
+    }
+}
@@ -0,0 +1,90 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Long Long Hash Map Tests")
+class LongLongHashMapTest {
+
+    private final LongLongHashMap map = new LongLongHashMap();
+
+    @Test
+    @DisplayName("Should behave like a HashMap across growth and removals")
+    void shouldMatchHashMap() {
+        // Arrange
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            long key = 1 + random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, (long) i);
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 20_000; key++) {
+            assertEquals(expected.getOrDefault(key, -1L).longValue(), map.get(key, -1L));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive keys")
+    void shouldRejectNonPositiveKeys() {
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1L));
+        assertEquals(-1L, map.get(0L, -1L));
+        assertEquals(-1L, map.get(-3L, -1L));
+        assertFalse(map.containsKey(0L));
+        assertFalse(map.containsKey(-3L));
+    }
+
+    @Test
+    @DisplayName("Should never return a torn value to concurrent readers")
+    void shouldReadConsistentlyWhileWriting() throws Exception {
+        // Arrange
+        for (long key = 1; key <= 1000; key++) {
+            map.put(key, key * 2);
+        }
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+
+        // Act
+        Future<?>[] results = new Future<?>[4];
+        for (int r = 0; r < results.length; r++) {
+            results[r] = readers.submit(() -> {
+                for (int round = 0; round < 200; round++) {
+                    for (long key = 1; key <= 1000; key++) {
+                        assertEquals(key * 2, map.get(key, -1L));
+                    }
+                }
+            });
+        }
+        for (long key = 1001; key <= 50_000; key++) {
+            map.put(key, key * 2);
+            map.remove(key);
+        }
+
+        // Assert
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        readers.shutdown();
+        assertEquals(1000, map.size());
+    }
+}
@@ -0,0 +1,76 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.esprit.spring.dto.RevenueByType;
+import tn.esprit.spring.entities.TypeSubscription;
+import tn.esprit.spring.repositories.ISubscriptionRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Recurring Revenue Aggregate Tests")
+class RecurringRevenueAggregateTest {
+
+    @Mock
+    private ISubscriptionRepository subscriptionRepository;
+
+    @InjectMocks
+    private RecurringRevenueAggregate revenueAggregate;
+
+    @Test
+    @DisplayName("Should compute monthly revenue from one grouped query")
+    void shouldComputeRevenueFromGroupedQuery() {
+        // Arrange
+        when(subscriptionRepository.sumAndCountGroupByTypeSub()).thenReturn(Arrays.asList(
+                new RevenueByType(TypeSubscription.MONTHLY, 200.0, 2L),
+                new RevenueByType(TypeSubscription.SEMESTRIEL, 600.0, 1L),
+                new RevenueByType(TypeSubscription.ANNUAL, 2400.0, 2L)));
+
+        // Act
+        revenueAggregate.reload();
+
+        // Assert
+        assertEquals(100.0 + 600.0 / 6 + 1200.0 / 12, revenueAggregate.current().getRevenue(), 1e-6);
+        verify(subscriptionRepository, times(1)).sumAndCountGroupByTypeSub();
+    }
+
+    @Test
+    @DisplayName("Should treat a subscription type without rows as zero revenue")
+    void shouldHandleMissingTypes() {
+        // Arrange
+        when(subscriptionRepository.sumAndCountGroupByTypeSub()).thenReturn(Collections.emptyList());
+
+        // Act
+        revenueAggregate.reload();
+        revenueAggregate.add(TypeSubscription.ANNUAL, 1200.0f);
+
+        // Assert
+        assertAll(
+                "Validate incremental revenue",
+                () -> assertEquals(100.0, revenueAggregate.current().getRevenue(), 1e-6),
+                () -> assertEquals(1L, revenueAggregate.current().getSubscriptionsByType().get(TypeSubscription.ANNUAL)),
+                () -> assertEquals(0L, revenueAggregate.current().getSubscriptionsByType().get(TypeSubscription.MONTHLY))
+        );
+    }
+
+    @Test
+    @DisplayName("Should update revenue incrementally when a subscription is removed")
+    void shouldRemoveSubscription() {
+        revenueAggregate.add(TypeSubscription.MONTHLY, 100.0f);
+        revenueAggregate.add(TypeSubscription.MONTHLY, 300.0f);
+
+        revenueAggregate.remove(TypeSubscription.MONTHLY, 300.0f);
+
+        assertEquals(100.0, revenueAggregate.current().getRevenue(), 1e-6);
+        verifyNoInteractions(subscriptionRepository);
+    }
+}
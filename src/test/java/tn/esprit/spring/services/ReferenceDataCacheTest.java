@@ -0,0 +1,132 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.entities.Course;
+import tn.esprit.spring.entities.Instructor;
+import tn.esprit.spring.entities.TypeCourse;
+import tn.esprit.spring.repositories.ICourseRepository;
+import tn.esprit.spring.repositories.IInstructorRepository;
+import tn.esprit.spring.repositories.IPisteRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+@DisplayName("Reference Data Cache Tests")
+class ReferenceDataCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(ReferenceDataCache.class)
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(ReferenceDataCache.COURSES, ReferenceDataCache.PISTES, ReferenceDataCache.INSTRUCTORS);
+        }
+    }
+
+    @MockBean
+    private ICourseRepository courseRepository;
+
+    @MockBean
+    private IPisteRepository pisteRepository;
+
+    @MockBean
+    private IInstructorRepository instructorRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        Instructor instructor = new Instructor();
+        instructor.setNumInstructor(7L);
+        instructor.setFirstName("Anna");
+        course = new Course();
+        course.setNumCourse(1L);
+        course.setTypeCourse(TypeCourse.COLLECTIVE_ADULT);
+        course.setInstructor(instructor);
+    }
+
+    @Test
+    @DisplayName("Should hit the repository once for repeated lookups")
+    void shouldReadThrough() {
+        // Arrange
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+
+        // Act
+        CourseSnapshot first = referenceDataCache.course(1L);
+        CourseSnapshot second = referenceDataCache.course(1L);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("Anna", second.getInstructor().getFirstName());
+        verify(courseRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload a course after eviction")
+    void shouldReloadAfterEviction() {
+        // Arrange
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        referenceDataCache.course(1L);
+
+        // Act
+        referenceDataCache.evictCourse(1L);
+        referenceDataCache.course(1L);
+        referenceDataCache.evictAllCourses();
+        referenceDataCache.course(1L);
+
+        // Assert
+        verify(courseRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache missing courses")
+    void shouldNotCacheMisses() {
+        // Arrange
+        when(courseRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // Act
+        assertNull(referenceDataCache.course(2L));
+        assertNull(referenceDataCache.course(2L));
+
+        // Assert
+        verify(courseRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    @DisplayName("Should hand out a fresh entity copy on every call")
+    void shouldReturnDetachedCopies() {
+        // Arrange
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+
+        // Act
+        Course copy = referenceDataCache.course(1L).toEntity();
+        copy.setTypeCourse(TypeCourse.INDIVIDUAL);
+
+        // Assert
+        assertEquals(TypeCourse.COLLECTIVE_ADULT, referenceDataCache.course(1L).getTypeCourse());
+        assertNotSame(copy, referenceDataCache.course(1L).toEntity());
+    }
+}
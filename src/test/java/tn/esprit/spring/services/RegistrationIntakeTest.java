@@ -0,0 +1,149 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.esprit.spring.dto.RegistrationOutcome;
+import tn.esprit.spring.dto.RegistrationRequest;
+import tn.esprit.spring.dto.RegistrationResult;
+import tn.esprit.spring.dto.RegistrationStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Registration Intake Tests")
+class RegistrationIntakeTest {
+
+    @Mock
+    private IRegistrationServices registrationServices;
+
+    private RegistrationIntake registrationIntake;
+
+    @AfterEach
+    void tearDown() {
+        registrationIntake.stop();
+    }
+
+    @Test
+    @DisplayName("Should complete each request with its own outcome")
+    void shouldCompleteWithOutcomes() throws Exception {
+        // Arrange
+        when(registrationServices.addRegistrationsInBatch(anyList())).thenAnswer(invocation -> {
+            List<RegistrationRequest> requests = invocation.getArgument(0);
+            return IntStream.range(0, requests.size())
+                    .mapToObj(i -> new RegistrationOutcome(i, RegistrationStatus.REGISTERED, requests.get(i).getNumSkier() * 10))
+                    .collect(Collectors.toList());
+        });
+        registrationIntake = new RegistrationIntake(registrationServices, 2);
+        registrationIntake.start();
+
+        // Act
+        List<CompletableFuture<RegistrationResult>> futures = new ArrayList<>();
+        for (long skier = 1; skier <= 20; skier++) {
+            futures.add(registrationIntake.submit(new RegistrationRequest(skier, skier % 3, 1)));
+        }
+
+        // Assert
+        for (int i = 0; i < futures.size(); i++) {
+            RegistrationResult outcome = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(RegistrationStatus.REGISTERED, outcome.getStatus());
+            assertEquals((i + 1) * 10L, outcome.getNumRegistration());
+        }
+    }
+
+    @Test
+    @DisplayName("Should admit one course-week in arrival order on a single writer")
+    void shouldKeepArrivalOrderPerCourseWeek() throws Exception {
+        // Arrange
+        List<Long> admitted = new ArrayList<>();
+        List<String> writers = new ArrayList<>();
+        when(registrationServices.addRegistrationsInBatch(anyList())).thenAnswer(invocation -> {
+            List<RegistrationRequest> requests = invocation.getArgument(0);
+            writers.add(Thread.currentThread().getName());
+            requests.forEach(request -> admitted.add(request.getNumSkier()));
+            return requests.stream()
+                    .map(request -> new RegistrationOutcome(0, RegistrationStatus.REGISTERED, request.getNumSkier()))
+                    .collect(Collectors.toList());
+        });
+        registrationIntake = new RegistrationIntake(registrationServices, 4);
+        registrationIntake.start();
+
+        // Act
+        List<CompletableFuture<RegistrationResult>> futures = new ArrayList<>();
+        for (long skier = 1; skier <= 200; skier++) {
+            futures.add(registrationIntake.submit(new RegistrationRequest(skier, 7L, 3)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(LongStream.rangeClosed(1, 200).boxed().collect(Collectors.toList()), admitted);
+        assertEquals(1, writers.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should fail a request that cannot be stored")
+    void shouldFailRequestOnError() {
+        // Arrange
+        when(registrationServices.addRegistrationsInBatch(anyList())).thenThrow(new IllegalStateException("db down"));
+        registrationIntake = new RegistrationIntake(registrationServices, 1);
+        registrationIntake.start();
+
+        // Act
+        CompletableFuture<RegistrationResult> future = registrationIntake.submit(new RegistrationRequest(1L, 1L, 1));
+
+        // Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(thrown.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch row by row and fail only the bad row")
+    void shouldIsolateFailingRow() throws Exception {
+        // Arrange
+        when(registrationServices.addRegistrationsInBatch(anyList())).thenAnswer(invocation -> {
+            List<RegistrationRequest> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> request.getNumSkier() == 3L)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return requests.stream()
+                    .map(request -> new RegistrationOutcome(0, RegistrationStatus.REGISTERED, request.getNumSkier()))
+                    .collect(Collectors.toList());
+        });
+        registrationIntake = new RegistrationIntake(registrationServices, 1);
+        List<CompletableFuture<RegistrationResult>> futures = new ArrayList<>();
+        for (long skier = 1; skier <= 5; skier++) {
+            futures.add(registrationIntake.submit(new RegistrationRequest(skier, 7L, 3)));
+        }
+
+        // Act
+        registrationIntake.start();
+
+        // Assert
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<RegistrationResult> future = futures.get(i);
+            if (i == 2) {
+                ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertTrue(thrown.getCause() instanceof IllegalStateException);
+            } else {
+                RegistrationResult result = future.get(5, TimeUnit.SECONDS);
+                assertEquals(RegistrationStatus.REGISTERED, result.getStatus());
+                assertEquals(i + 1L, result.getNumRegistration());
+            }
+        }
+        verify(registrationServices, times(6)).addRegistrationsInBatch(anyList());
+    }
+}
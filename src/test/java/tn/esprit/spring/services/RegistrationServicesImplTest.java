@@ -0,0 +1,284 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.esprit.spring.dto.CourseSnapshot;
+import tn.esprit.spring.dto.RegistrationKey;
+import tn.esprit.spring.dto.RegistrationOutcome;
+import tn.esprit.spring.dto.RegistrationRequest;
+import tn.esprit.spring.dto.RegistrationStatus;
+import tn.esprit.spring.entities.*;
+import tn.esprit.spring.repositories.ICourseRepository;
+import tn.esprit.spring.repositories.IRegistrationRepository;
+import tn.esprit.spring.repositories.ISkierRepository;
+import tn.esprit.spring.services.journal.MutationJournal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Registration Services Tests")
+class RegistrationServicesImplTest {
+
+    @Mock
+    private IRegistrationRepository registrationRepository;
+    @Mock
+    private ISkierRepository skierRepository;
+    @Mock
+    private ICourseRepository courseRepository;
+    @Mock
+    private CourseCapacityLedger capacityLedger;
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+    @Mock
+    private SkierEligibilityIndex skierEligibility;
+    @Mock
+    private MutationJournal mutationJournal;
+    @Mock
+    private RegistrationOutcomeCounter registrationOutcomes;
+    @Mock
+    private InstructorScheduleView scheduleView;
+
+    @InjectMocks
+    private RegistrationServicesImpl registrationServices;
+
+    @Nested
+    @DisplayName("Batch Registration Tests")
+    class BatchRegistrationTests {
+
+        @Test
+        @DisplayName("Should report an outcome for every row, in request order")
+        void shouldReportOutcomePerRow() {
+            // Arrange
+            givenAdultSkier(1L);
+            when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(course(10L, TypeCourse.COLLECTIVE_ADULT)));
+            when(capacityLedger.tryReserve(10L, 7)).thenReturn(true);
+            List<RegistrationRequest> requests = List.of(
+                    new RegistrationRequest(1L, 10L, 7),
+                    new RegistrationRequest(99L, 10L, 7),
+                    new RegistrationRequest(1L, 77L, 7),
+                    new RegistrationRequest(1L, 10L, 7));
+
+            // Act
+            List<RegistrationOutcome> outcomes = registrationServices.addRegistrationsInBatch(requests);
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(4, outcomes.size()),
+                    () -> assertEquals(RegistrationStatus.REGISTERED, outcomes.get(0).getStatus()),
+                    () -> assertEquals(RegistrationStatus.SKIER_NOT_FOUND, outcomes.get(1).getStatus()),
+                    () -> assertEquals(RegistrationStatus.COURSE_NOT_FOUND, outcomes.get(2).getStatus()),
+                    () -> assertEquals(RegistrationStatus.ALREADY_REGISTERED, outcomes.get(3).getStatus(),
+                            "A duplicate inside the batch must not take a second seat"),
+                    () -> assertEquals(3, outcomes.get(3).getIndex())
+            );
+            verify(capacityLedger, times(1)).tryReserve(10L, 7);
+            verify(registrationRepository).saveAll(argThatHasSize(1));
+            verify(skierEligibility, times(1)).resolveAll(Set.of(1L, 99L));
+        }
+
+        @Test
+        @DisplayName("Should reject a row with an invalid week without failing the batch")
+        void shouldRejectInvalidWeekPerRow() {
+            // Arrange
+            givenAdultSkier(1L);
+            when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(course(10L, TypeCourse.INDIVIDUAL)));
+            List<RegistrationRequest> requests = List.of(
+                    new RegistrationRequest(1L, 10L, 0),
+                    new RegistrationRequest(1L, 10L, 7),
+                    new RegistrationRequest(1L, 10L, Registration.MAX_WEEK + 1));
+
+            // Act
+            List<RegistrationOutcome> outcomes = registrationServices.addRegistrationsInBatch(requests);
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(RegistrationStatus.INVALID_WEEK, outcomes.get(0).getStatus()),
+                    () -> assertEquals(RegistrationStatus.REGISTERED, outcomes.get(1).getStatus()),
+                    () -> assertEquals(RegistrationStatus.INVALID_WEEK, outcomes.get(2).getStatus())
+            );
+            verify(capacityLedger, times(1)).record(10L, 7);
+            verify(registrationRepository).saveAll(argThatHasSize(1));
+        }
+
+        @Test
+        @DisplayName("Should reject rows already registered in the database")
+        void shouldRejectExistingRegistration() {
+            // Arrange
+            givenAdultSkier(1L);
+            when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(course(10L, TypeCourse.COLLECTIVE_ADULT)));
+            when(registrationRepository.findKeysBySkiersAndCoursesAndWeeks(anyCollection(), anyCollection(), anyCollection()))
+                    .thenReturn(List.of(new RegistrationKey(1L, 10L, 7)));
+
+            // Act
+            List<RegistrationOutcome> outcomes = registrationServices.addRegistrationsInBatch(
+                    List.of(new RegistrationRequest(1L, 10L, 7)));
+
+            // Assert
+            assertEquals(RegistrationStatus.ALREADY_REGISTERED, outcomes.get(0).getStatus());
+            verify(capacityLedger, never()).tryReserve(any(), anyInt());
+            verify(registrationRepository).saveAll(argThatHasSize(0));
+        }
+
+        @Test
+        @DisplayName("Should reject rows for a full collective course")
+        void shouldRejectFullCourse() {
+            // Arrange
+            givenAdultSkier(1L);
+            when(courseRepository.findAllById(anyCollection())).thenReturn(List.of(course(10L, TypeCourse.COLLECTIVE_ADULT)));
+            when(capacityLedger.tryReserve(10L, 7)).thenReturn(false);
+
+            // Act
+            List<RegistrationOutcome> outcomes = registrationServices.addRegistrationsInBatch(
+                    List.of(new RegistrationRequest(1L, 10L, 7)));
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(RegistrationStatus.COURSE_FULL, outcomes.get(0).getStatus()),
+                    () -> assertNull(outcomes.get(0).getNumRegistration())
+            );
+            verify(registrationOutcomes).increment(RegistrationStatus.COURSE_FULL);
+        }
+
+        @Test
+        @DisplayName("Should not look up duplicates when no skier or course exists")
+        void shouldSkipDuplicateLookupWhenNothingMatches() {
+            // Arrange
+            when(courseRepository.findAllById(anyCollection())).thenReturn(Collections.emptyList());
+
+            // Act
+            List<RegistrationOutcome> outcomes = registrationServices.addRegistrationsInBatch(
+                    List.of(new RegistrationRequest(5L, 10L, 7)));
+
+            // Assert
+            assertEquals(RegistrationStatus.SKIER_NOT_FOUND, outcomes.get(0).getStatus());
+            verify(registrationRepository, never()).findKeysBySkiersAndCoursesAndWeeks(anyCollection(), anyCollection(), anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should refuse batches over the size cap")
+        void shouldRefuseOversizedBatch() {
+            // Arrange
+            List<RegistrationRequest> requests = new ArrayList<>();
+            for (int i = 0; i <= IRegistrationServices.MAX_BATCH_SIZE; i++) {
+                requests.add(new RegistrationRequest(1L, 10L, 7));
+            }
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> registrationServices.addRegistrationsInBatch(requests));
+            verifyNoInteractions(registrationRepository, courseRepository, capacityLedger);
+        }
+    }
+
+    @Nested
+    @DisplayName("Assign Registration To Course Tests")
+    class AssignToCourseTests {
+
+        @Test
+        @DisplayName("Should refuse to move a registration into a full collective course")
+        void shouldRefuseFullCourse() {
+            // Arrange
+            Registration registration = registration(5L, 7, course(10L, TypeCourse.COLLECTIVE_ADULT));
+            when(registrationRepository.findById(5L)).thenReturn(Optional.of(registration));
+            when(referenceDataCache.course(20L)).thenReturn(CourseSnapshot.of(course(20L, TypeCourse.COLLECTIVE_ADULT)));
+            when(capacityLedger.reserve(TypeCourse.COLLECTIVE_ADULT, 20L, 7)).thenReturn(false);
+
+            // Act
+            Registration result = registrationServices.assignRegistrationToCourse(5L, 20L);
+
+            // Assert
+            assertNull(result);
+            assertEquals(10L, registration.getCourse().getNumCourse());
+            verify(registrationRepository, never()).save(any());
+            verify(capacityLedger, never()).releaseAfterCommit(any(), anyInt());
+            verify(registrationOutcomes).increment(RegistrationStatus.COURSE_FULL);
+        }
+
+        @Test
+        @DisplayName("Should take the new seat and give the old one back after commit")
+        void shouldMoveSeat() {
+            // Arrange
+            Registration registration = registration(5L, 7, course(10L, TypeCourse.COLLECTIVE_ADULT));
+            when(registrationRepository.findById(5L)).thenReturn(Optional.of(registration));
+            when(referenceDataCache.course(20L)).thenReturn(CourseSnapshot.of(course(20L, TypeCourse.COLLECTIVE_ADULT)));
+            when(capacityLedger.reserve(TypeCourse.COLLECTIVE_ADULT, 20L, 7)).thenReturn(true);
+            when(courseRepository.getById(20L)).thenReturn(course(20L, TypeCourse.COLLECTIVE_ADULT));
+            when(registrationRepository.save(registration)).thenReturn(registration);
+
+            // Act
+            Registration result = registrationServices.assignRegistrationToCourse(5L, 20L);
+
+            // Assert
+            assertEquals(20L, result.getCourse().getNumCourse());
+            verify(capacityLedger).releaseAfterCommit(10L, 7);
+            verify(capacityLedger, never()).release(any(), anyInt());
+            verify(scheduleView).unregistered(10L, 7);
+            verify(scheduleView).registered(20L, 7);
+        }
+
+        @Test
+        @DisplayName("Should not take a second seat when the course does not change")
+        void shouldKeepSeatOnSameCourse() {
+            // Arrange
+            Registration registration = registration(5L, 7, course(10L, TypeCourse.COLLECTIVE_ADULT));
+            when(registrationRepository.findById(5L)).thenReturn(Optional.of(registration));
+            when(referenceDataCache.course(10L)).thenReturn(CourseSnapshot.of(course(10L, TypeCourse.COLLECTIVE_ADULT)));
+            when(courseRepository.getById(10L)).thenReturn(course(10L, TypeCourse.COLLECTIVE_ADULT));
+            when(registrationRepository.save(registration)).thenReturn(registration);
+
+            // Act
+            registrationServices.assignRegistrationToCourse(5L, 10L);
+
+            // Assert
+            verifyNoInteractions(capacityLedger, scheduleView);
+        }
+    }
+
+    private void givenAdultSkier(Long numSkier) {
+        when(skierEligibility.resolveAll(anyCollection())).thenAnswer(invocation -> {
+            Set<Long> found = new HashSet<>(invocation.<Collection<Long>>getArgument(0));
+            found.retainAll(Set.of(numSkier));
+            return found;
+        });
+        lenient().when(skierEligibility.isAdult(numSkier)).thenReturn(true);
+        lenient().when(skierRepository.getById(numSkier)).thenReturn(new Skier());
+    }
+
+    private static Iterable<Registration> argThatHasSize(int size) {
+        return argThat(registrations -> registrations instanceof Collection && ((Collection<?>) registrations).size() == size);
+    }
+
+    private static Registration registration(Long numRegistration, int numWeek, Course course) {
+        Registration registration = new Registration();
+        registration.setNumRegistration(numRegistration);
+        registration.setNumWeek(numWeek);
+        registration.setCourse(course);
+        return registration;
+    }
+
+    private static Course course(Long numCourse, TypeCourse typeCourse) {
+        Course course = new Course();
+        course.setNumCourse(numCourse);
+        course.setLevel(1);
+        course.setPrice(100f);
+        course.setTypeCourse(typeCourse);
+        course.setSupport(Support.SKI);
+        return course;
+    }
+}
@@ -0,0 +1,166 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.esprit.spring.dto.PassValidity;
+import tn.esprit.spring.dto.SkierEligibility;
+import tn.esprit.spring.entities.TypeSubscription;
+import tn.esprit.spring.repositories.ISkierRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Skier Eligibility Index Tests")
+class SkierEligibilityIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    @Mock
+    private ISkierRepository skierRepository;
+
+    private SkierEligibilityIndex skierEligibility;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        skierEligibility = new SkierEligibilityIndex(skierRepository, clock);
+    }
+
+    @Test
+    @DisplayName("Should split children and adults at the 16th birthday")
+    void shouldSplitAtAdultAge() {
+        // Arrange
+        when(skierRepository.findEligibility()).thenReturn(Arrays.asList(
+                new SkierEligibility(1L, TODAY.minusYears(16), null, null),
+                new SkierEligibility(2L, TODAY.minusYears(16).plusDays(1), null, null),
+                new SkierEligibility(3L, null, null, null)));
+
+        // Act
+        skierEligibility.warmUp();
+
+        // Assert
+        assertAll(
+                "Validate age groups",
+                () -> assertTrue(skierEligibility.isAdult(1L)),
+                () -> assertFalse(skierEligibility.isChild(1L)),
+                () -> assertTrue(skierEligibility.isChild(2L)),
+                () -> assertFalse(skierEligibility.isAdult(2L)),
+                () -> assertTrue(skierEligibility.contains(3L), "A skier without birth date is still known"),
+                () -> assertFalse(skierEligibility.isAdult(3L) || skierEligibility.isChild(3L)),
+                () -> assertFalse(skierEligibility.contains(4L)),
+                () -> assertFalse(skierEligibility.isAdult(4L) || skierEligibility.isChild(4L))
+        );
+    }
+
+    @Test
+    @DisplayName("Should track subscription end dates")
+    void shouldTrackSubscriptionEnd() {
+        // Arrange
+        when(skierRepository.findEligibility()).thenReturn(Collections.emptyList());
+        skierEligibility.warmUp();
+        skierEligibility.put(1L, LocalDate.of(1990, 1, 1), TypeSubscription.MONTHLY, TODAY);
+        when(skierRepository.findEligibilityBySubscription(9L)).thenReturn(Collections.singletonList(
+                new SkierEligibility(1L, LocalDate.of(1990, 1, 1), TypeSubscription.MONTHLY, TODAY.minusDays(1))));
+
+        // Act
+        boolean activeBefore = skierEligibility.hasActiveSubscription(1L, TODAY);
+        skierEligibility.refreshSubscription(9L);
+
+        // Assert
+        assertTrue(activeBefore);
+        assertFalse(skierEligibility.hasActiveSubscription(1L, TODAY));
+        assertTrue(skierEligibility.isAdult(1L));
+    }
+
+    @Test
+    @DisplayName("Should forget removed skiers")
+    void shouldForgetRemovedSkiers() {
+        // Arrange
+        skierEligibility.put(1L, LocalDate.of(1990, 1, 1), null, null);
+
+        // Act
+        skierEligibility.remove(1L);
+
+        // Assert
+        assertFalse(skierEligibility.contains(1L));
+        assertFalse(skierEligibility.hasActiveSubscription(1L, TODAY));
+    }
+
+    @Test
+    @DisplayName("Should load a skier the index has not seen from the database")
+    void shouldResolveMissFromDatabase() {
+        // Arrange
+        when(skierRepository.findEligibilityById(5L))
+                .thenReturn(Optional.of(new SkierEligibility(5L, LocalDate.of(1990, 1, 1), null, null)));
+        when(skierRepository.findEligibilityById(6L)).thenReturn(Optional.empty());
+
+        // Act
+        boolean known = skierEligibility.resolve(5L);
+        boolean unknown = skierEligibility.resolve(6L);
+
+        // Assert
+        assertAll(
+                () -> assertTrue(known),
+                () -> assertTrue(skierEligibility.contains(5L), "A resolved skier is indexed"),
+                () -> assertTrue(skierEligibility.isAdult(5L)),
+                () -> assertFalse(unknown)
+        );
+        assertTrue(skierEligibility.resolve(5L));
+        verify(skierRepository, times(1)).findEligibilityById(5L);
+    }
+
+    @Test
+    @DisplayName("Should load every skier of a batch the index has not seen in one query")
+    void shouldResolveBatchMissesInOneQuery() {
+        // Arrange
+        skierEligibility.put(1L, LocalDate.of(1990, 1, 1), null, null);
+        when(skierRepository.findEligibilityByIds(Set.of(5L, 6L)))
+                .thenReturn(List.of(new SkierEligibility(5L, LocalDate.of(2015, 1, 1), null, null)));
+
+        // Act
+        Set<Long> found = skierEligibility.resolveAll(Arrays.asList(1L, 5L, 6L, 0L, null));
+
+        // Assert
+        assertEquals(Set.of(1L, 5L), found);
+        assertTrue(skierEligibility.isChild(5L));
+        verify(skierRepository, times(1)).findEligibilityByIds(anyCollection());
+        verify(skierRepository, never()).findEligibilityById(any());
+    }
+
+    @Test
+    @DisplayName("Should validate passes up to and including their end date")
+    void shouldCheckPass() {
+        // Arrange
+        skierEligibility.put(1L, LocalDate.of(1990, 1, 1), TypeSubscription.ANNUAL, TODAY);
+        skierEligibility.put(2L, LocalDate.of(1990, 1, 1), TypeSubscription.SEMESTRIEL, TODAY.minusDays(1));
+        skierEligibility.put(3L, LocalDate.of(1990, 1, 1), null, null);
+
+        // Act
+        PassValidity valid = skierEligibility.checkPass(1L, TODAY);
+        PassValidity expired = skierEligibility.checkPass(2L, TODAY);
+        PassValidity none = skierEligibility.checkPass(3L, TODAY);
+
+        // Assert
+        assertAll(
+                "Validate passes",
+                () -> assertEquals(new PassValidity(1L, true, TypeSubscription.ANNUAL, TODAY), valid),
+                () -> assertEquals(new PassValidity(2L, false, TypeSubscription.SEMESTRIEL, TODAY.minusDays(1)), expired),
+                () -> assertEquals(new PassValidity(3L, false, null, null), none),
+                () -> assertNull(skierEligibility.checkPass(4L, TODAY))
+        );
+    }
+}
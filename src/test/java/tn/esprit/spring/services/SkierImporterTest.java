@@ -0,0 +1,134 @@
+package tn.esprit.spring.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.esprit.spring.dto.RowFormat;
+import tn.esprit.spring.dto.SkierImportReport;
+import tn.esprit.spring.entities.Skier;
+import tn.esprit.spring.entities.TypeSubscription;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Skier Importer Tests")
+class SkierImporterTest {
+
+    @Mock
+    private ISkierServices skierServices;
+
+    private SkierImporter skierImporter;
+
+    private final List<List<Skier>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        skierImporter = new SkierImporter(skierServices, new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+        lenient().when(skierServices.addSkiersInBatch(anyList())).thenAnswer(invocation -> {
+            List<Skier> batch = invocation.getArgument(0);
+            batches.add(new ArrayList<>(batch));
+            return batch.size();
+        });
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows in fixed-size batches and skip invalid rows")
+    void shouldImportCsvInBatches() throws IOException {
+        // Arrange
+        String csv = "firstName,lastName,dateOfBirth,city,typeSub,startDate,price\n"
+                + "Amine,Ben Ali,1990-04-12,Tunis,ANNUAL,2024-01-01,1200\n"
+                + "Sara,\"Trabelsi, Jr\",2012-06-30,Sousse,MONTHLY,2024-02-01,120\n"
+                + ",Missing,2000-01-01,Sfax,MONTHLY,2024-02-01,120\n"
+                + "Youssef,Haddad,1985-11-03,Bizerte,SEMESTRIEL,2024-03-01,600\n";
+
+        // Act
+        SkierImportReport report = skierImporter.importSkiers(stream(csv), RowFormat.CSV);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(3, report.getImported()),
+                () -> assertEquals(1, report.getRejected()),
+                () -> assertTrue(report.getErrors().get(0).startsWith("line 4:")),
+                () -> assertEquals(2, batches.size()),
+                () -> assertEquals(2, batches.get(0).size()),
+                () -> assertEquals("Trabelsi, Jr", batches.get(0).get(1).getLastName()),
+                () -> assertEquals(TypeSubscription.SEMESTRIEL, batches.get(1).get(0).getSubscription().getTypeSub()),
+                () -> assertEquals(LocalDate.of(2024, 3, 1), batches.get(1).get(0).getSubscription().getStartDate())
+        );
+    }
+
+    @Test
+    @DisplayName("Should read quoted headers and quoted fields with commas and line breaks")
+    void shouldImportQuotedCsv() throws IOException {
+        // Arrange
+        String csv = "\"firstName\",\"lastName\",dateOfBirth,city,typeSub,startDate,price\n"
+                + "Amine,Ben Ali,1990-04-12,\"La Marsa,\nTunis\",ANNUAL,2024-01-01,1200\n"
+                + "Sara,Trabelsi,2012-06-30,Sousse,MONTHLY,not-a-date,120\n"
+                + "\n"
+                + "Youssef,Haddad,1985-11-03,Bizerte,SEMESTRIEL,2024-03-01,600\n";
+
+        // Act
+        SkierImportReport report = skierImporter.importSkiers(stream(csv), RowFormat.CSV);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(2, report.getImported()),
+                () -> assertEquals(1, report.getRejected()),
+                () -> assertTrue(report.getErrors().get(0).startsWith("line 4:"), report.getErrors().get(0)),
+                () -> assertEquals("Amine", batches.get(0).get(0).getFirstName()),
+                () -> assertEquals("La Marsa,\nTunis", batches.get(0).get(0).getCity()),
+                () -> assertEquals("Haddad", batches.get(0).get(1).getLastName())
+        );
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows and report malformed lines")
+    void shouldImportNdjson() throws IOException {
+        // Arrange
+        String ndjson = "{\"firstName\":\"Amine\",\"lastName\":\"Ben Ali\",\"dateOfBirth\":\"1990-04-12\",\"typeSub\":\"ANNUAL\",\"startDate\":\"2024-01-01\",\"price\":1200}\n"
+                + "\n"
+                + "{\"firstName\":\"Sara\",\"lastName\":\"Trabelsi\",\"dateOfBirth\":\"2012-06-30\",\"typeSub\":\"WEEKLY\",\"startDate\":\"2024-02-01\",\"price\":120}\n"
+                + "{\"firstName\":\"Youssef\",\"lastName\":\"Haddad\",\"dateOfBirth\":\"1985-11-03\",\"typeSub\":\"MONTHLY\",\"startDate\":\"2024-03-01\",\"price\":0}\n";
+
+        // Act
+        SkierImportReport report = skierImporter.importSkiers(stream(ndjson), RowFormat.NDJSON);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(1, report.getImported()),
+                () -> assertEquals(2, report.getRejected()),
+                () -> assertTrue(report.getErrors().get(0).startsWith("line 3:")),
+                () -> assertTrue(report.getErrors().get(1).startsWith("line 4:")),
+                () -> assertEquals(1, batches.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Should return an empty report for an empty CSV upload")
+    void shouldHandleEmptyCsv() throws IOException {
+        // Act
+        SkierImportReport report = skierImporter.importSkiers(stream(""), RowFormat.CSV);
+
+        // Assert
+        assertEquals(0, report.getImported());
+        verify(skierServices, never()).addSkiersInBatch(anyList());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
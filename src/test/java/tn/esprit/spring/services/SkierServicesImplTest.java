@@ -0,0 +1,198 @@
+package tn.esprit.spring.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tn.esprit.spring.dto.PassValidity;
+import tn.esprit.spring.entities.*;
+import tn.esprit.spring.repositories.*;
+import tn.esprit.spring.services.journal.MutationJournal;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Skier Services Tests")
+class SkierServicesImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    @Mock
+    private ISkierRepository skierRepository;
+    @Mock
+    private IPisteRepository pisteRepository;
+    @Mock
+    private ICourseRepository courseRepository;
+    @Mock
+    private IRegistrationRepository registrationRepository;
+    @Mock
+    private ISubscriptionRepository subscriptionRepository;
+    @Mock
+    private CourseCapacityLedger capacityLedger;
+    @Mock
+    private RecurringRevenueAggregate revenueAggregate;
+    @Mock
+    private SkierEligibilityIndex skierEligibility;
+    @Mock
+    private InstructorScheduleView scheduleView;
+    @Mock
+    private MutationJournal mutationJournal;
+    @Mock
+    private ReadModelAssembler readModelAssembler;
+
+    private SkierServicesImpl skierServices;
+
+    private List<Skier> batch;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        skierServices = new SkierServicesImpl(skierRepository, pisteRepository, courseRepository, registrationRepository,
+                subscriptionRepository, capacityLedger, revenueAggregate, skierEligibility, scheduleView, mutationJournal,
+                readModelAssembler, clock);
+        batch = List.of(skier(1L, 100f), skier(2L, 900f));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should leave the aggregate and the index untouched when the batch fails at commit")
+    void shouldIgnoreRolledBackBatch() {
+        // Act
+        int written = skierServices.addSkiersInBatch(batch);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertEquals(2, written);
+        verify(skierRepository).saveAll(batch);
+        verifyNoInteractions(revenueAggregate, skierEligibility);
+    }
+
+    @Test
+    @DisplayName("Should count and index the batch once it has committed")
+    void shouldApplyCommittedBatch() {
+        // Act
+        skierServices.addSkiersInBatch(batch);
+        verifyNoInteractions(revenueAggregate, skierEligibility);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        verify(revenueAggregate).add(TypeSubscription.MONTHLY, 100f);
+        verify(revenueAggregate).add(TypeSubscription.MONTHLY, 900f);
+        verify(skierEligibility).put(eq(1L), any(), eq(TypeSubscription.MONTHLY), any());
+        verify(skierEligibility).put(eq(2L), any(), eq(TypeSubscription.MONTHLY), any());
+    }
+
+    @Test
+    @DisplayName("Should not add the skier when a collective week is full")
+    void shouldRejectSkierForFullCourse() {
+        // Arrange
+        Skier skier = skier(3L, 100f);
+        skier.setRegistrations(Set.of(registration(7), registration(8)));
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course(TypeCourse.COLLECTIVE_ADULT)));
+        when(capacityLedger.reserve(eq(TypeCourse.COLLECTIVE_ADULT), eq(10L), anyInt())).thenReturn(true, false);
+
+        // Act
+        Skier result = skierServices.addSkierAndAssignToCourse(skier, 10L);
+
+        // Assert
+        assertNull(result);
+        verify(capacityLedger).release(eq(10L), anyInt());
+        verify(skierRepository, never()).save(any());
+        verify(registrationRepository, never()).saveAll(any());
+        verifyNoInteractions(scheduleView, mutationJournal);
+    }
+
+    @Test
+    @DisplayName("Should seat every week and index the skier after commit")
+    void shouldAddSkierWithSeats() {
+        // Arrange
+        Skier skier = skier(3L, 100f);
+        skier.setRegistrations(Set.of(registration(7), registration(8)));
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course(TypeCourse.COLLECTIVE_ADULT)));
+        when(capacityLedger.reserve(eq(TypeCourse.COLLECTIVE_ADULT), eq(10L), anyInt())).thenReturn(true);
+        when(skierRepository.save(skier)).thenReturn(skier);
+
+        // Act
+        Skier result = skierServices.addSkierAndAssignToCourse(skier, 10L);
+        verifyNoInteractions(skierEligibility);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertSame(skier, result);
+        verify(capacityLedger).reserve(TypeCourse.COLLECTIVE_ADULT, 10L, 7);
+        verify(capacityLedger).reserve(TypeCourse.COLLECTIVE_ADULT, 10L, 8);
+        verify(capacityLedger, never()).record(any(), anyInt());
+        verify(registrationRepository).saveAll(skier.getRegistrations());
+        verify(skierEligibility).put(eq(3L), any(), eq(TypeSubscription.MONTHLY), any());
+    }
+
+    @Test
+    @DisplayName("Should check passes against the clock's day")
+    void shouldCheckPassOnClockDay() {
+        // Arrange
+        PassValidity pass = new PassValidity(1L, true, TypeSubscription.ANNUAL, TODAY);
+        when(skierEligibility.checkPass(1L, TODAY)).thenReturn(pass);
+
+        // Act
+        PassValidity result = skierServices.checkPass(1L);
+
+        // Assert
+        assertSame(pass, result);
+    }
+
+    // What the transaction manager does when the surrounding transaction ends
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static Registration registration(int numWeek) {
+        Registration registration = new Registration();
+        registration.setNumWeek(numWeek);
+        return registration;
+    }
+
+    private static Course course(TypeCourse typeCourse) {
+        Course course = new Course();
+        course.setNumCourse(10L);
+        course.setTypeCourse(typeCourse);
+        return course;
+    }
+
+    private static Skier skier(Long numSkier, float price) {
+        Subscription subscription = new Subscription();
+        subscription.setTypeSub(TypeSubscription.MONTHLY);
+        subscription.setStartDate(LocalDate.of(2025, 1, 1));
+        subscription.setPrice(price);
+        Skier skier = new Skier();
+        skier.setNumSkier(numSkier);
+        skier.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        skier.setSubscription(subscription);
+        return skier;
+    }
+}
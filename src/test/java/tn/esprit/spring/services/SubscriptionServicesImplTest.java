@@ -2,61 +2,80 @@ package tn.esprit.spring.services;
 
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import tn.esprit.spring.entities.Skier;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import tn.esprit.spring.dto.ExpiredSubscription;
+import tn.esprit.spring.dto.MonthlyRecurringRevenue;
+import tn.esprit.spring.dto.SubscriptionView;
+import tn.esprit.spring.entities.JobWatermark;
 import tn.esprit.spring.entities.Subscription;
 import tn.esprit.spring.entities.TypeSubscription;
-import tn.esprit.spring.repositories.ISkierRepository;
+import tn.esprit.spring.repositories.IJobWatermarkRepository;
 import tn.esprit.spring.repositories.ISubscriptionRepository;
+import tn.esprit.spring.services.journal.EntityType;
+import tn.esprit.spring.services.journal.MutationJournal;
+import tn.esprit.spring.services.journal.MutationOp;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Subscription Services Tests")
 class SubscriptionServicesImplTest {
 
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
     @Mock
     private ISubscriptionRepository subscriptionRepository;
 
     @Mock
-    private ISkierRepository skierRepository;
+    private RecurringRevenueAggregate revenueAggregate;
+
+    @Mock
+    private SkierEligibilityIndex skierEligibility;
+
+    @Mock
+    private MutationJournal mutationJournal;
+
+    @Mock
+    private IJobWatermarkRepository watermarkRepository;
 
-    @InjectMocks
     private SubscriptionServicesImpl subscriptionService;
 
     private Subscription monthlySubscription;
     private Subscription annualSubscription;
-    private Skier skier;
 
     @BeforeEach
     void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        subscriptionService = new SubscriptionServicesImpl(subscriptionRepository, revenueAggregate,
+                skierEligibility, mutationJournal, watermarkRepository, clock);
+        subscriptionService.loadExpiryWatermark();
+
         // Initialize monthly subscription
         monthlySubscription = new Subscription();
         monthlySubscription.setNumSub(1L);
-        monthlySubscription.setStartDate(LocalDate.now());
-        monthlySubscription.setEndDate(LocalDate.now().plusMonths(1));
+        monthlySubscription.setStartDate(TODAY);
+        monthlySubscription.setEndDate(TODAY.plusMonths(1));
         monthlySubscription.setPrice(100.0f);
         monthlySubscription.setTypeSub(TypeSubscription.MONTHLY);
 
         // Initialize annual subscription
         annualSubscription = new Subscription();
         annualSubscription.setNumSub(2L);
-        annualSubscription.setStartDate(LocalDate.now());
-        annualSubscription.setEndDate(LocalDate.now().plusYears(1));
+        annualSubscription.setStartDate(TODAY);
+        annualSubscription.setEndDate(TODAY.plusYears(1));
         annualSubscription.setPrice(1000.0f);
         annualSubscription.setTypeSub(TypeSubscription.ANNUAL);
-
-        // Initialize skier
-        skier = new Skier();
-        skier.setNumSkier(1L);
-        skier.setSubscription(monthlySubscription);
     }
 
     @Nested
@@ -68,7 +87,7 @@ class SubscriptionServicesImplTest {
         void shouldAddMonthlySubscriptionWithCorrectEndDate() {
             // Arrange
             Subscription newSubscription = new Subscription();
-            newSubscription.setStartDate(LocalDate.now());
+            newSubscription.setStartDate(TODAY);
             newSubscription.setTypeSub(TypeSubscription.MONTHLY);
             when(subscriptionRepository.save(any(Subscription.class))).thenAnswer(i -> i.getArguments()[0]);
 
@@ -79,10 +98,11 @@ class SubscriptionServicesImplTest {
             assertAll(
                     "Validate monthly subscription",
                     () -> assertNotNull(result, "Result should not be null"),
-                    () -> assertEquals(LocalDate.now().plusMonths(1), result.getEndDate(), "End date should be 1 month after start date"),
+                    () -> assertEquals(TODAY.plusMonths(1), result.getEndDate(), "End date should be 1 month after start date"),
                     () -> assertEquals(TypeSubscription.MONTHLY, result.getTypeSub(), "Subscription type should be MONTHLY")
             );
             verify(subscriptionRepository).save(any(Subscription.class));
+            verify(revenueAggregate).add(TypeSubscription.MONTHLY, null);
         }
 
         @Test
@@ -119,41 +139,101 @@ class SubscriptionServicesImplTest {
                     () -> assertEquals(monthlySubscription.getNumSub(), result.getNumSub(), "Subscription ID should remain same")
             );
             verify(subscriptionRepository).save(monthlySubscription);
+            verify(revenueAggregate).add(TypeSubscription.MONTHLY, 150.0f);
+            verify(skierEligibility).refreshSubscription(monthlySubscription.getNumSub());
+            verify(mutationJournal).append(EntityType.SUBSCRIPTION, MutationOp.UPDATE, monthlySubscription.getNumSub());
         }
     }
 
+    @Test
+    @DisplayName("Should serve monthly recurring revenue without querying subscriptions")
+    void shouldServeMonthlyRecurringRevenueFromMemory() {
+        // Arrange
+        MonthlyRecurringRevenue revenue = new MonthlyRecurringRevenue(100.0,
+                Collections.singletonMap(TypeSubscription.MONTHLY, 100.0),
+                Collections.singletonMap(TypeSubscription.MONTHLY, 1L));
+        when(revenueAggregate.current()).thenReturn(revenue);
+
+        // Act
+        MonthlyRecurringRevenue result = subscriptionService.getMonthlyRecurringRevenue();
+
+        // Assert
+        assertEquals(100.0, result.getRevenue(), "Revenue should come from the aggregate");
+        verifyNoInteractions(subscriptionRepository);
+    }
+
     @Nested
     @DisplayName("Retrieve Subscription Tests")
     class RetrieveSubscriptionTests {
 
         @Test
-        @DisplayName("Should retrieve subscriptions ordered by end date")
-        void shouldRetrieveSubscriptionsOrderedByEndDate() {
+        @DisplayName("Should report expired subscriptions with their skier in a single query")
+        void shouldReportExpiredSubscriptionsInSingleQuery() {
+            // Arrange
+            List<ExpiredSubscription> expired = Arrays.asList(
+                    new ExpiredSubscription(1L, TODAY, "Ahmed", "Ben Ali"),
+                    new ExpiredSubscription(2L, TODAY, "Sara", "Trabelsi"));
+            when(subscriptionRepository.findExpiredBetween(any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(expired));
+
+            // Act
+            subscriptionService.retrieveSubscriptions();
+
+            // Assert
+            verify(subscriptionRepository, times(1))
+                    .findExpiredBetween(eq(TODAY.minusDays(1)), eq(TODAY), any(Pageable.class));
+            verify(watermarkRepository).save(argThat(w -> TODAY.equals(w.getWatermark())));
+        }
+
+        @Test
+        @DisplayName("Should resume from the stored watermark after a restart")
+        void shouldResumeFromStoredWatermark() {
+            // Arrange
+            LocalDate lastReported = TODAY.minusDays(3);
+            when(watermarkRepository.findById(anyString()))
+                    .thenReturn(Optional.of(new JobWatermark("subscription-expiry", lastReported)));
+            when(subscriptionRepository.findExpiredBetween(any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(Collections.emptyList()));
+            subscriptionService.loadExpiryWatermark();
+
+            // Act
+            subscriptionService.retrieveSubscriptions();
+
+            // Assert
+            verify(subscriptionRepository)
+                    .findExpiredBetween(eq(lastReported), eq(TODAY), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should not report again when the stored watermark is already today")
+        void shouldSkipWhenStoredWatermarkIsToday() {
             // Arrange
-            List<Subscription> subscriptions = Arrays.asList(monthlySubscription, annualSubscription);
-            when(subscriptionRepository.findDistinctOrderByEndDateAsc()).thenReturn(subscriptions);
-            when(skierRepository.findBySubscription(any(Subscription.class))).thenReturn(skier);
+            when(watermarkRepository.findById(anyString()))
+                    .thenReturn(Optional.of(new JobWatermark("subscription-expiry", TODAY)));
+            subscriptionService.loadExpiryWatermark();
 
             // Act
             subscriptionService.retrieveSubscriptions();
 
             // Assert
-            verify(subscriptionRepository).findDistinctOrderByEndDateAsc();
-            verify(skierRepository, times(2)).findBySubscription(any(Subscription.class));
+            verify(subscriptionRepository, never()).findExpiredBetween(any(), any(), any());
+            verify(watermarkRepository, never()).save(any());
         }
 
         @Test
-        @DisplayName("Should handle empty subscription list")
-        void shouldHandleEmptySubscriptionList() {
+        @DisplayName("Should not query again before new subscriptions can expire")
+        void shouldSkipTicksUntilWatermarkMoves() {
             // Arrange
-            when(subscriptionRepository.findDistinctOrderByEndDateAsc()).thenReturn(Collections.emptyList());
+            when(subscriptionRepository.findExpiredBetween(any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(Collections.emptyList()));
 
             // Act
             subscriptionService.retrieveSubscriptions();
+            subscriptionService.retrieveSubscriptions();
 
             // Assert
-            verify(subscriptionRepository).findDistinctOrderByEndDateAsc();
-            verify(skierRepository, never()).findBySubscription(any(Subscription.class));
+            verify(subscriptionRepository, times(1))
+                    .findExpiredBetween(any(LocalDate.class), any(LocalDate.class), any(Pageable.class));
         }
     }
 
@@ -161,20 +241,21 @@ class SubscriptionServicesImplTest {
     @DisplayName("Should retrieve subscription by type")
     void shouldRetrieveSubscriptionsByType() {
         // Arrange
-        Set<Subscription> monthlySubscriptions = Set.of(monthlySubscription);
-        when(subscriptionRepository.findByTypeSubOrderByStartDateAsc(TypeSubscription.MONTHLY))
-                .thenReturn(monthlySubscriptions);
+        SubscriptionView monthlyView = new SubscriptionView(monthlySubscription.getNumSub(), monthlySubscription.getStartDate(),
+                monthlySubscription.getEndDate(), monthlySubscription.getPrice(), TypeSubscription.MONTHLY);
+        when(subscriptionRepository.findViewsByTypeSubOrderByStartDateAsc(TypeSubscription.MONTHLY))
+                .thenReturn(Set.of(monthlyView));
 
         // Act
-        Set<Subscription> result = subscriptionService.getSubscriptionByType(TypeSubscription.MONTHLY);
+        Set<SubscriptionView> result = subscriptionService.getSubscriptionByType(TypeSubscription.MONTHLY);
 
         // Assert
         assertAll(
                 "Validate subscriptions by type",
                 () -> assertNotNull(result, "Result should not be null"),
                 () -> assertEquals(1, result.size(), "Should return correct number of subscriptions"),
-                () -> assertTrue(result.contains(monthlySubscription), "Should contain the monthly subscription")
+                () -> assertTrue(result.contains(monthlyView), "Should contain the monthly subscription")
         );
-        verify(subscriptionRepository).findByTypeSubOrderByStartDateAsc(TypeSubscription.MONTHLY);
+        verify(subscriptionRepository).findViewsByTypeSubOrderByStartDateAsc(TypeSubscription.MONTHLY);
     }
 }
\ No newline at end of file
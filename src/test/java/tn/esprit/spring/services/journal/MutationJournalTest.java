@@ -0,0 +1,124 @@
+package tn.esprit.spring.services.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mutation Journal Tests")
+class MutationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should deliver appended mutations to listeners in order")
+    void shouldDeliverMutationsInOrder() throws Exception {
+        // Arrange
+        BlockingQueue<Mutation> received = new LinkedBlockingQueue<>();
+        MutationJournal journal = new MutationJournal(directory.resolve("mutations.journal"), 16,
+                Collections.singletonList(received::add));
+        journal.start();
+
+        // Act
+        journal.append(EntityType.SKIER, MutationOp.CREATE, 1L);
+        journal.append(EntityType.SUBSCRIPTION, MutationOp.UPDATE, 7L);
+        journal.append(EntityType.PISTE, MutationOp.DELETE, null);
+
+        // Assert
+        Mutation first = received.poll(5, TimeUnit.SECONDS);
+        Mutation second = received.poll(5, TimeUnit.SECONDS);
+        assertAll(
+                () -> assertEquals(2, journal.head()),
+                () -> assertEquals(1, first.getSequence()),
+                () -> assertEquals(EntityType.SKIER, first.getEntityType()),
+                () -> assertEquals(MutationOp.CREATE, first.getOp()),
+                () -> assertEquals(1L, first.getId()),
+                () -> assertEquals(2, second.getSequence()),
+                () -> assertEquals(EntityType.SUBSCRIPTION, second.getEntityType()),
+                () -> assertEquals(7L, second.getId()),
+                () -> assertEquals(2, journal.version(EntityType.SUBSCRIPTION)),
+                () -> assertEquals(0, journal.version(EntityType.PISTE), "A null id must not bump the version")
+        );
+        journal.stop();
+    }
+
+    @Test
+    @DisplayName("Should resume the sequence after reopening the file")
+    void shouldResumeSequenceAfterReopen() throws IOException {
+        // Arrange
+        Path file = directory.resolve("mutations.journal");
+        MutationJournal journal = new MutationJournal(file, 4, Collections.emptyList());
+        for (long id = 1; id <= 6; id++) {
+            journal.append(EntityType.COURSE, MutationOp.UPDATE, id);
+        }
+        journal.stop();
+
+        // Act
+        MutationJournal reopened = new MutationJournal(file, 4, Collections.emptyList());
+        reopened.append(EntityType.COURSE, MutationOp.DELETE, 9L);
+
+        // Assert
+        assertEquals(7, reopened.head());
+        assertEquals(9L, reopened.read(7).getId());
+        reopened.stop();
+    }
+
+    @Test
+    @DisplayName("Should signal an overrun when a listener falls a full ring behind")
+    void shouldSignalOverrun() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch overrun = new CountDownLatch(1);
+        MutationJournal journal = new MutationJournal(directory.resolve("mutations.journal"), 4,
+                Collections.singletonList(new MutationListener() {
+                    @Override
+                    public void onMutation(Mutation mutation) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    @Override
+                    public void onOverrun() {
+                        overrun.countDown();
+                    }
+                }));
+        journal.start();
+
+        // Act
+        for (long id = 1; id <= 10; id++) {
+            journal.append(EntityType.REGISTRATION, MutationOp.CREATE, id);
+        }
+        release.countDown();
+
+        // Assert
+        assertTrue(overrun.await(5, TimeUnit.SECONDS));
+        journal.stop();
+    }
+
+    @Test
+    @DisplayName("Should refuse to open a journal file that another journal holds")
+    void shouldFailFastWhenFileIsLocked() throws IOException {
+        // Arrange
+        Path file = directory.resolve("mutations.journal");
+        MutationJournal journal = new MutationJournal(file, 4, Collections.emptyList());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new MutationJournal(file, 4, Collections.emptyList()));
+        journal.append(EntityType.SKIER, MutationOp.CREATE, 1L);
+        assertEquals(1, journal.head(), "The holder must keep working after the rejected open");
+        journal.stop();
+    }
+}